@@ -0,0 +1,41 @@
+package com.example.mathquiz.adapter.in.web.dto;
+
+import com.example.mathquiz.domain.Question;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuestionsResponseSerializationBenchmark {
+    @Param({"5", "50", "500"})
+    private int questions;
+    private ObjectWriter writer;
+    private QuestionsResponse response;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writerFor(QuestionsResponse.class);
+        response = new QuestionsResponse(LongStream.rangeClosed(1, questions)
+                .mapToObj(id -> {
+                    Question question = new Question("What is " + id + " + 2?", List.of("1", "2", "3", String.valueOf(id + 2)), 3);
+                    question.setId(id);
+                    return question;
+                })
+                .toList(), (long) questions);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.mathquiz.adapter.out.persistence;
+
+import com.example.mathquiz.domain.Question;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QuestionMapperBenchmark {
+    private final QuestionMapper mapper = Mappers.getMapper(QuestionMapper.class);
+    private Question question;
+    private QuestionEntity entity;
+
+    @Setup
+    public void setUp() {
+        question = new Question("What is 7 + 5?", List.of("10", "11", "12", "13"), 2);
+        question.setId(42L);
+        entity = mapper.toEntity(question);
+    }
+
+    @Benchmark
+    public QuestionEntity toEntity() {
+        return mapper.toEntity(question);
+    }
+
+    @Benchmark
+    public Question toDomain() {
+        return mapper.toDomain(entity);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.mathquiz.application.service;
+
+import com.example.mathquiz.domain.Question;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class QuestionSearchIndexBenchmark {
+    @Param({"1000000"})
+    private int questions;
+    private QuestionSearchIndex searchIndex;
+
+    @Setup
+    public void setUp() {
+        searchIndex = new QuestionSearchIndex();
+        // A distinct sum per question: the Grade 1 generator has only a few hundred, far too few to index a million
+        searchIndex.ensureLoaded(sink -> {
+            for (long index = 0; index < questions; index++) {
+                long a = index % 1_000;
+                long b = index / 1_000 % 1_000;
+                Question question = new Question("What is " + a + " + " + b + "?",
+                        List.of(String.valueOf(a + b), String.valueOf(a + b + 1)), 0);
+                question.setId(index + 1);
+                sink.accept(question);
+            }
+        });
+    }
+
+    // A selective query: the rarest trigram bounds the intersection
+    @Benchmark
+    public QuestionSearchIndex.Hits searchSum() {
+        return searchIndex.search("437 + 512", 0, 20);
+    }
+
+    // A query every question matches: the whole bank goes through the ranking heap
+    @Benchmark
+    public QuestionSearchIndex.Hits searchCommonWords() {
+        return searchIndex.search("what is", 0, 20);
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.mathquiz.application.service;
+
+import com.example.mathquiz.MathQuizApplication;
+import com.example.mathquiz.application.port.in.QuestionService;
+import com.example.mathquiz.domain.Question;
+import com.example.mathquiz.domain.QuestionFilter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Boots the application on H2 once per trial, grows the bank to bankSize and samples through the real service.
+// Ten million rows in in-memory H2 plus the pool do not fit a 3 GB heap, so the largest bank is one million.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class QuestionServiceBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int bankSize;
+    @Param({"pool", "database"})
+    private String strategy;
+    @Param({"5", "50"})
+    private int count;
+    private ConfigurableApplicationContext context;
+    private QuestionService questionService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        context = new SpringApplicationBuilder(MathQuizApplication.class)
+                .profiles("test")
+                .properties("server.port=0",
+                        "mathquiz.questions.random-strategy=" + strategy,
+                        "logging.level.root=WARN",
+                        "logging.level.com.example.mathquiz=WARN")
+                .run();
+        QuestionSeeder seeder = context.getBean(QuestionSeeder.class);
+        while (seeder.progress().state() != QuestionSeeder.State.READY) {
+            if (seeder.progress().state() == QuestionSeeder.State.FAILED) {
+                throw new IllegalStateException("Seeding failed: " + seeder.progress().failure());
+            }
+            Thread.sleep(50);
+        }
+        questionService = context.getBean(QuestionService.class);
+        // Rows go straight in with SQL; creating them through the service would spend the trial on inserts
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        long base = jdbc.queryForObject("SELECT COALESCE(MAX(id), 0) FROM questions", Long.class);
+        jdbc.update("INSERT INTO questions (id, content, correct_option) "
+                + "SELECT X + ?, 'What is ' || X || ' + 1?', 0 FROM SYSTEM_RANGE(1, ?)", base, bankSize);
+        jdbc.update("INSERT INTO question_options (question_id, option_value) "
+                + "SELECT X + ?, CAST(X + 1 AS VARCHAR) FROM SYSTEM_RANGE(1, ?) "
+                + "UNION ALL SELECT X + ?, CAST(X AS VARCHAR) FROM SYSTEM_RANGE(1, ?)", base, bankSize, base, bankSize);
+        jdbc.execute("ALTER SEQUENCE questions_seq RESTART WITH " + (base + bankSize + 1));
+        // Moves the bank version, so the first sample below reloads the pool with every row
+        context.getBean(QuestionVersions.class).questionsCreated();
+        questionService.getRandomQuestions(count, QuestionFilter.NONE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Question> getRandomQuestions() {
+        return questionService.getRandomQuestions(count, QuestionFilter.NONE);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.mathquiz.config.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenBenchmark {
+    private static final String ACTIVE_SECRET = "dGVzdFNlY3JldEtleUZvclRlc3RpbmdQdXJwb3Nlc09ubHk=";
+    private static final String PREVIOUS_SECRET = "cHJldmlvdXNTZWNyZXRLZXlGb3JSb3RhdGlvbkJlbmNobWFyaw==";
+    private JwtTokenUtil jwtTokenUtil;
+    private VerifiedTokenCache verifiedTokenCache;
+    private Authentication authentication;
+    private String token;
+    private String rotatedToken;
+
+    @Setup
+    public void setUp() {
+        jwtTokenUtil = tokenUtil(new JwtKeyRing(ACTIVE_SECRET, "active", List.of("previous:" + PREVIOUS_SECRET)));
+        verifiedTokenCache = new VerifiedTokenCache(jwtTokenUtil, 10_000, new SimpleMeterRegistry());
+        UserDetails user = new User("user", "", AuthorityUtils.createAuthorityList("ROLE_USER", "ROLE_ADMIN"));
+        authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        token = jwtTokenUtil.generateToken(authentication);
+        // Signed before a rotation: the kid header selects the retired key from the ring
+        rotatedToken = tokenUtil(new JwtKeyRing(PREVIOUS_SECRET, "previous", List.of())).generateToken(authentication);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenUtil.generateToken(authentication);
+    }
+
+    @Benchmark
+    public VerifiedToken parseToken() {
+        return jwtTokenUtil.parseToken(token);
+    }
+
+    @Benchmark
+    public VerifiedToken parseRotatedToken() {
+        return jwtTokenUtil.parseToken(rotatedToken);
+    }
+
+    @Benchmark
+    public VerifiedToken verifyCachedToken() {
+        return verifiedTokenCache.verify(token);
+    }
+
+    private static JwtTokenUtil tokenUtil(JwtKeyRing keyRing) {
+        JwtTokenUtil tokenUtil = new JwtTokenUtil(keyRing);
+        ReflectionTestUtils.setField(tokenUtil, "expirationMs", 3_600L);
+        return tokenUtil;
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.mathquiz.domain;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArithmeticQuestionGeneratorBenchmark {
+    private final ArithmeticQuestionGenerator generator = new ArithmeticQuestionGenerator(0L, 10);
+    private long index;
+
+    // Run with -prof gc to see allocation per question: the Question, its content string and the options list
+    @Benchmark
+    public Question generate() {
+        return generator.generate(index++);
+    }
+
+    @Benchmark
+    public List<Question> sampleQuiz() {
+        return generator.sample(10, ThreadLocalRandom.current());
+    }
+}
@@ -0,0 +1,287 @@
+package com.example.mathquiz.loadtest;
+
+import com.example.mathquiz.MathQuizApplication;
+import com.example.mathquiz.application.service.QuestionSeeder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Objects.isNull;
+
+// Boots the application on H2 and drives it over HTTP from virtual-thread clients, once per server thread mode.
+// Clients run a closed loop, so latencies are those of a saturated server rather than of a fixed arrival rate.
+public final class LoadTest {
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final int PAGE_SIZE = 500;
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        // DevTools would relaunch main() in a restart class loader, without the arguments
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        for (boolean virtualThreads : options.serverModes()) {
+            run(options, virtualThreads);
+        }
+        // Spring's non-daemon threads from the last context must not keep the JVM alive
+        System.exit(0);
+    }
+
+    private static void run(LoadTestOptions options, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = start(virtualThreads);
+             HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+            URI base = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            String password = context.getEnvironment().getRequiredProperty("security.user.password");
+            Target target = new Target(client, base, login(client, base, "user", password),
+                    login(client, base, "admin", password));
+            importQuestions(target, options.bankSize());
+            Target loaded = target.withIds(questionIds(target));
+
+            Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+            options.mix().keySet().forEach(endpoint -> stats.put(endpoint, new EndpointStats()));
+            drive(loaded, options, stats, options.warmup());
+            stats.values().forEach(EndpointStats::reset);
+            drive(loaded, options, stats, options.duration());
+            report(options, virtualThreads, stats);
+        }
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads) throws InterruptedException {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MathQuizApplication.class)
+                .profiles("test")
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "logging.level.root=WARN",
+                        "logging.level.com.example.mathquiz=WARN")
+                .run();
+        QuestionSeeder seeder = context.getBean(QuestionSeeder.class);
+        while (seeder.progress().state() != QuestionSeeder.State.READY) {
+            if (seeder.progress().state() == QuestionSeeder.State.FAILED) {
+                throw new IllegalStateException("Seeding failed: " + seeder.progress().failure());
+            }
+            Thread.sleep(50);
+        }
+        return context;
+    }
+
+    private static void drive(Target target, LoadTestOptions options, Map<Endpoint, EndpointStats> stats,
+                              Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < options.clients(); i++) {
+                clients.submit(() -> {
+                    RandomGenerator random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        Endpoint endpoint = options.pick(random);
+                        HttpRequest request = endpoint.request(target, random);
+                        long start = System.nanoTime();
+                        int status;
+                        try {
+                            status = target.client().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (IOException e) {
+                            status = -1;
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                        stats.get(endpoint).record(System.nanoTime() - start, status);
+                    }
+                });
+            }
+        }
+    }
+
+    private static void report(LoadTestOptions options, boolean virtualThreads, Map<Endpoint, EndpointStats> stats) {
+        double seconds = options.duration().toMillis() / 1_000.0;
+        System.out.printf("%nServer threads: %s, clients: %d, duration: %s%n",
+                virtualThreads ? "virtual" : "platform", options.clients(), options.duration());
+        System.out.printf("%-24s %10s %8s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(MAX_LATENCY_NANOS, 3);
+        long errors = 0;
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().recorder.getIntervalHistogram();
+            long endpointErrors = entry.getValue().errors.sum();
+            total.add(histogram);
+            errors += endpointErrors;
+            printRow(entry.getKey().label, histogram, endpointErrors, seconds);
+        }
+        printRow("total", total, errors, seconds);
+    }
+
+    private static void printRow(String label, Histogram histogram, long errors, double seconds) {
+        System.out.printf("%-24s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                label, histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String login(HttpClient client, URI base, String username, String password)
+            throws IOException, InterruptedException {
+        String body = OBJECT_MAPPER.writeValueAsString(Map.of("username", username, "password", password));
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(base.resolve("/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(String.format("Login as %s failed with %d", username, response.statusCode()));
+        }
+        return OBJECT_MAPPER.readTree(response.body()).get("jwtToken").asText();
+    }
+
+    private static void importQuestions(Target target, int count) throws IOException, InterruptedException {
+        if (count < 1) {
+            return;
+        }
+        String ndjson = IntStream.range(0, count)
+                .mapToObj(LoadTest::questionJson)
+                .collect(Collectors.joining("\n"));
+        HttpResponse<String> response = target.client().send(HttpRequest.newBuilder(target.base().resolve("/questions/bulk"))
+                .header("Authorization", "Bearer " + target.adminToken())
+                .header("Content-Type", "application/x-ndjson")
+                .POST(HttpRequest.BodyPublishers.ofString(ndjson))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(String.format("Bulk import failed with %d: %s", response.statusCode(), response.body()));
+        }
+    }
+
+    private static long[] questionIds(Target target) throws IOException, InterruptedException {
+        List<Long> ids = new ArrayList<>();
+        String after = "";
+        do {
+            HttpResponse<String> response = target.client().send(
+                    target.get("/questions?limit=" + PAGE_SIZE + after, target.userToken()),
+                    HttpResponse.BodyHandlers.ofString());
+            JsonNode page = OBJECT_MAPPER.readTree(response.body()).get(0);
+            page.get("questions").forEach(question -> ids.add(question.get("id").asLong()));
+            JsonNode nextCursor = page.get("summary").get("nextCursor");
+            after = isNull(nextCursor) ? null : "&after=" + nextCursor.asLong();
+        } while (!isNull(after));
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static String questionJson(long seed) {
+        return String.format("{\"content\":\"What is %d + 1?\",\"options\":[\"%d\",\"%d\"],\"correctOption\":0}",
+                seed, seed + 1, seed);
+    }
+
+    enum Endpoint {
+        RANDOM("random", "GET /questions/random") {
+            @Override
+            HttpRequest request(Target target, RandomGenerator random) {
+                return target.get("/questions/random?count=10", target.userToken());
+            }
+        },
+        BY_ID("by-id", "GET /questions/{id}") {
+            @Override
+            HttpRequest request(Target target, RandomGenerator random) {
+                return target.get("/questions/" + target.randomId(random), target.userToken());
+            }
+        },
+        CREATE("create", "POST /questions") {
+            @Override
+            HttpRequest request(Target target, RandomGenerator random) {
+                return target.write("POST", "/questions", questionJson(random.nextInt(1_000)));
+            }
+        },
+        UPDATE("update", "PATCH /questions/{id}") {
+            @Override
+            HttpRequest request(Target target, RandomGenerator random) {
+                return target.write("PATCH", "/questions/" + target.randomId(random), questionJson(random.nextInt(1_000)));
+            }
+        };
+
+        private final String name;
+        private final String label;
+
+        Endpoint(String name, String label) {
+            this.name = name;
+            this.label = label;
+        }
+
+        abstract HttpRequest request(Target target, RandomGenerator random);
+
+        static Endpoint fromName(String name) {
+            return Arrays.stream(values())
+                    .filter(endpoint -> endpoint.name.equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException(String.format("Unknown endpoint %s", name)));
+        }
+    }
+
+    record Target(HttpClient client, URI base, String userToken, String adminToken, long[] ids) {
+        Target(HttpClient client, URI base, String userToken, String adminToken) {
+            this(client, base, userToken, adminToken, new long[0]);
+        }
+
+        Target withIds(long[] questionIds) {
+            return new Target(client, base, userToken, adminToken, questionIds);
+        }
+
+        long randomId(RandomGenerator random) {
+            return ids[random.nextInt(ids.length)];
+        }
+
+        HttpRequest get(String path, String token) {
+            return HttpRequest.newBuilder(base.resolve(path))
+                    .header("Authorization", "Bearer " + token)
+                    .GET()
+                    .build();
+        }
+
+        HttpRequest write(String method, String path, String json) {
+            return HttpRequest.newBuilder(base.resolve(path))
+                    .header("Authorization", "Bearer " + adminToken)
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(json))
+                    .build();
+        }
+    }
+
+    private static final class EndpointStats {
+        private final Recorder recorder = new Recorder(MAX_LATENCY_NANOS, 3);
+        private final LongAdder errors = new LongAdder();
+
+        void record(long nanos, int status) {
+            recorder.recordValue(Math.min(nanos, MAX_LATENCY_NANOS));
+            if (status < 200 || status >= 300) {
+                errors.increment();
+            }
+        }
+
+        void reset() {
+            recorder.reset();
+            errors.reset();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.mathquiz.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+// --clients=200 --duration=30s --warmup=10s --bank-size=5000 --mix=random:60,by-id:30,create:5,update:5
+// --server-threads=both|virtual|platform
+record LoadTestOptions(int clients, Duration duration, Duration warmup, int bankSize,
+                       Map<LoadTest.Endpoint, Integer> mix, List<Boolean> serverModes) {
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException(String.format("Expected --name=value but got %s", arg));
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        return new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("clients", "200")),
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "30s")),
+                DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+                Integer.parseInt(values.getOrDefault("bank-size", "5000")),
+                parseMix(values.getOrDefault("mix", "random:60,by-id:30,create:5,update:5")),
+                switch (values.getOrDefault("server-threads", "both")) {
+                    case "virtual" -> List.of(true);
+                    case "platform" -> List.of(false);
+                    case "both" -> List.of(false, true);
+                    default -> throw new IllegalArgumentException("server-threads must be virtual, platform or both");
+                });
+    }
+
+    LoadTest.Endpoint pick(RandomGenerator random) {
+        int totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int ticket = random.nextInt(totalWeight);
+        for (Map.Entry<LoadTest.Endpoint, Integer> entry : mix.entrySet()) {
+            ticket -= entry.getValue();
+            if (ticket < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty request mix");
+    }
+
+    private static Map<LoadTest.Endpoint, Integer> parseMix(String mix) {
+        Map<LoadTest.Endpoint, Integer> weights = new EnumMap<>(LoadTest.Endpoint.class);
+        for (String part : mix.split(",")) {
+            String[] nameAndWeight = part.split(":");
+            int weight = Integer.parseInt(nameAndWeight[1].trim());
+            if (weight > 0) {
+                weights.put(LoadTest.Endpoint.fromName(nameAndWeight[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The request mix needs at least one endpoint with a positive weight");
+        }
+        return weights;
+    }
+}
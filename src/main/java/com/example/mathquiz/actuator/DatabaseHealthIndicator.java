@@ -1,25 +1,167 @@
 package com.example.mathquiz.actuator;
 
+import com.example.mathquiz.config.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.stereotype.Component;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+// Probes the database on a background schedule and answers from the last result, so the public health endpoint
+// never costs a round trip per hit and never waits on a hung connection
+@Slf4j
 @Component
 public class DatabaseHealthIndicator implements HealthIndicator {
 
     private static final String DATABASE_SERVICE = "DatabaseService";
+    // A result older than this many intervals means the probe itself has stopped running
+    private static final int STALE_AFTER_INTERVALS = 3;
+    private final DataSource dataSource;
+    private final String validationQuery;
+    private final Duration interval;
+    private final Duration timeout;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("db-health").daemon(true).factory());
+    // Each probe runs on its own virtual thread, so one stuck in the driver cannot delay the next
+    private final ExecutorService probes = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("db-health-probe-", 0).factory());
+    private volatile Probe lastProbe;
+
+    public DatabaseHealthIndicator(DataSource dataSource,
+                                   @Value("${mathquiz.health.db.validation-query:SELECT 1}") String validationQuery,
+                                   @Value("${mathquiz.health.db.interval:10s}") Duration interval,
+                                   @Value("${mathquiz.health.db.timeout:2s}") Duration timeout) {
+        this.dataSource = dataSource;
+        this.validationQuery = validationQuery;
+        this.interval = interval;
+        this.timeout = timeout;
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::probe, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+        probes.shutdownNow();
+    }
 
     @Override
     public Health health() {
-        if (isDatabaseHealthy()) {
-            return Health.up().withDetail(DATABASE_SERVICE, "Database is running").build();
+        Probe probe = lastProbe;
+        if (isNull(probe)) {
+            return Health.unknown().withDetail(DATABASE_SERVICE, "Database has not been probed yet").build();
+        }
+        boolean stale = probe.checkedAt().plus(interval.multipliedBy(STALE_AFTER_INTERVALS)).plus(timeout)
+                .isBefore(Instant.now());
+        Health.Builder builder = probe.healthy() && !stale
+                ? Health.up().withDetail(DATABASE_SERVICE, "Database is running")
+                : Health.down().withDetail(DATABASE_SERVICE, "Database is not available");
+        builder.withDetail("checkedAt", probe.checkedAt())
+                .withDetail("latencyMs", probe.latency().toMillis());
+        if (nonNull(probe.error())) {
+            builder.withDetail("error", probe.error());
+        }
+        if (stale) {
+            builder.withDetail("stale", true);
+        }
+        Map<String, Object> pool = poolDetails();
+        if (nonNull(pool)) {
+            builder.withDetail("pool", pool);
+        }
+        ReadWriteRoutingDataSource routing = unwrap(ReadWriteRoutingDataSource.class);
+        if (nonNull(routing)) {
+            builder.withDetail("replicas", routing.replicaStatus());
         }
-        return Health.down().withDetail(DATABASE_SERVICE, "Database is not available").build();
+        return builder.build();
     }
 
-    private boolean isDatabaseHealthy() {
-        // Add your database health check logic here
-        // For simplicity, we'll assume it's always healthy in this example
-        return true;
+    void probe() {
+        long start = System.nanoTime();
+        String error = null;
+        Future<Void> validation = probes.submit(this::validate);
+        try {
+            validation.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException _) {
+            validation.cancel(true);
+            error = String.format("Validation query did not complete within %d ms", timeout.toMillis());
+        } catch (ExecutionException e) {
+            error = e.getCause().getMessage();
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        Probe previous = lastProbe;
+        lastProbe = new Probe(isNull(error), Duration.ofNanos(System.nanoTime() - start), Instant.now(), error);
+        if (nonNull(error) && (isNull(previous) || previous.healthy())) {
+            log.warn("Database probe failed: {}", error);
+        } else if (isNull(error) && nonNull(previous) && !previous.healthy()) {
+            log.info("Database probe recovered");
+        }
+    }
+
+    private Void validate() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            // The driver-side timeout frees the connection; the future timeout bounds waiting for the pool as well
+            statement.setQueryTimeout((int) Math.max(1, timeout.toSeconds()));
+            statement.execute(validationQuery);
+        }
+        return null;
+    }
+
+    // Read from the pool's own counters, so reporting saturation never needs a connection
+    private Map<String, Object> poolDetails() {
+        HikariDataSource hikari = unwrap(HikariDataSource.class);
+        HikariPoolMXBean pool = isNull(hikari) ? null : hikari.getHikariPoolMXBean();
+        if (isNull(pool)) {
+            return null;
+        }
+        int active = pool.getActiveConnections();
+        int pending = pool.getThreadsAwaitingConnection();
+        int max = hikari.getMaximumPoolSize();
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("active", active);
+        details.put("idle", pool.getIdleConnections());
+        details.put("max", max);
+        details.put("pending", pending);
+        details.put("utilization", Math.round(active * 100.0 / max) / 100.0);
+        details.put("saturated", active >= max && pending > 0);
+        return details;
+    }
+
+    private <T> T unwrap(Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException _) {
+            return null;
+        }
     }
+
+    record Probe(boolean healthy, Duration latency, Instant checkedAt, String error) {}
 }
@@ -0,0 +1,31 @@
+package com.example.mathquiz.actuator;
+
+import com.example.mathquiz.application.service.QuestionSeeder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+import static java.util.Objects.nonNull;
+
+@Component
+@RequiredArgsConstructor
+public class QuestionSeedingHealthIndicator implements HealthIndicator {
+    private final QuestionSeeder questionSeeder;
+
+    @Override
+    public Health health() {
+        QuestionSeeder.Progress progress = questionSeeder.progress();
+        Health.Builder builder = switch (progress.state()) {
+            case READY -> Health.up();
+            case FAILED -> Health.down();
+            case PENDING, RUNNING -> Health.outOfService();
+        };
+        builder.withDetail("state", progress.state())
+                .withDetail("seeded", progress.seeded());
+        if (nonNull(progress.failure())) {
+            builder.withDetail("error", progress.failure());
+        }
+        return builder.build();
+    }
+}
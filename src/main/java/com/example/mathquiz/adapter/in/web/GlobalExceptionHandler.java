@@ -2,8 +2,10 @@ package com.example.mathquiz.adapter.in.web;
 
 import com.example.mathquiz.adapter.in.web.exception.ErrorResponse;
 import com.example.mathquiz.adapter.in.web.exception.UnauthorizedException;
+import com.example.mathquiz.config.security.PasswordCheckRejectedException;
 import com.example.mathquiz.domain.exception.QuestionNotFoundException;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -67,6 +69,16 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    @ExceptionHandler(PasswordCheckRejectedException.class)
+    public ResponseEntity<Map<String, String>> handlePasswordCheckRejectedException(PasswordCheckRejectedException ex) {
+        Map<String, String> errorResponse = new HashMap<>();
+        errorResponse.put(ERROR, "Too many requests");
+        errorResponse.put(MESSAGE, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
     @ExceptionHandler(UnauthorizedException.class)
     public ResponseEntity<ErrorResponse> handleUnauthorizedException(UnauthorizedException ex, HttpServletResponse response) {
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
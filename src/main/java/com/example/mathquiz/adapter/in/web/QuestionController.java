@@ -1,32 +1,112 @@
 package com.example.mathquiz.adapter.in.web;
 
+import com.example.mathquiz.adapter.in.web.dto.BulkImportResponse;
+import com.example.mathquiz.adapter.in.web.dto.BulkImportResponse.ChunkResult;
 import com.example.mathquiz.adapter.in.web.dto.QuestionsResponse;
+import com.example.mathquiz.adapter.in.web.dto.QuizBatchRequest;
+import com.example.mathquiz.adapter.in.web.dto.QuizBatchResponse;
+import com.example.mathquiz.adapter.in.web.dto.QuizResponse;
 import com.example.mathquiz.application.port.in.QuestionService;
+import com.example.mathquiz.application.port.in.QuizService;
+import com.example.mathquiz.domain.ContentVersion;
 import com.example.mathquiz.domain.Question;
+import com.example.mathquiz.domain.QuestionFilter;
+import com.example.mathquiz.domain.QuestionPage;
+import com.example.mathquiz.domain.QuizOverlap;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.TransactionException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 
 @RestController
 @RequestMapping("/questions")
 @RequiredArgsConstructor
 public class QuestionController {
+    private static final int MAX_IMPORT_CHUNK_SIZE = 10_000;
+    // Replaces Spring Security's no-store: caches may keep the body but must revalidate, and so re-authenticate, every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().mustRevalidate();
     private final QuestionService questionService;
+    private final QuizService quizService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    @Value("${mathquiz.questions.seeded.max-age:5m}")
+    private Duration seededMaxAge;
+    @Value("${mathquiz.questions.daily-zone:UTC}")
+    private ZoneId dailyZone;
 
+    // tag=a&tag=b requires both, anyTag=a&anyTag=b either; topic and difficulty accept any of the values given
     @GetMapping("/random")
-    public ResponseEntity<QuestionsResponse> getRandomQuestions(@RequestParam(defaultValue = "5") int count) {
-        List<Question> questions = questionService.getRandomQuestions(count);
+    public ResponseEntity<QuestionsResponse> getRandomQuestions(@RequestParam(defaultValue = "5") int count,
+                                                                @RequestParam(required = false) Long seed,
+                                                                @RequestParam(defaultValue = "false") boolean daily,
+                                                                @RequestParam(name = "tag", required = false) Set<String> tags,
+                                                                @RequestParam(name = "anyTag", required = false) Set<String> anyTags,
+                                                                @RequestParam(name = "topic", required = false) Set<String> topics,
+                                                                @RequestParam(name = "difficulty", required = false) Set<Integer> difficulties,
+                                                                ServletWebRequest request) {
+        QuestionFilter filter = new QuestionFilter(tags, anyTags, topics, difficulties);
+        if (daily || nonNull(seed)) {
+            return getSeededQuestions(count, seed, daily, filter, request);
+        }
+        List<Question> questions = questionService.getRandomQuestions(count, filter);
         QuestionsResponse response = new QuestionsResponse(questions);
         return ResponseEntity.ok(response);
     }
 
+    // Same questions without correctOption, plus a signed token for POST /quizzes/grade
+    @GetMapping(value = "/random", params = "graded=true")
+    public QuizResponse getGradedQuiz(@RequestParam(defaultValue = "5") int count,
+                                      @RequestParam(name = "tag", required = false) Set<String> tags,
+                                      @RequestParam(name = "anyTag", required = false) Set<String> anyTags,
+                                      @RequestParam(name = "topic", required = false) Set<String> topics,
+                                      @RequestParam(name = "difficulty", required = false) Set<Integer> difficulties) {
+        return QuizResponse.of(quizService.startQuiz(count, new QuestionFilter(tags, anyTags, topics, difficulties)));
+    }
+
+    // One bank snapshot for a whole classroom instead of a request per student
+    @PostMapping("/random/batch")
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
+    public QuizBatchResponse getRandomQuizzes(@Valid @RequestBody QuizBatchRequest request) {
+        QuizOverlap overlap = isNull(request.overlap()) ? QuizOverlap.INDEPENDENT : request.overlap();
+        List<QuestionsResponse> quizzes = questionService.getRandomQuizzes(request.quizzes(), request.size(), overlap)
+                .stream()
+                .map(QuestionsResponse::new)
+                .toList();
+        return new QuizBatchResponse(overlap, quizzes);
+    }
+
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     @PreAuthorize("hasRole('ADMIN')")
@@ -34,9 +114,41 @@ public class QuestionController {
         return questionService.createQuestion(question);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('ADMIN')")
+    public BulkImportResponse importQuestions(InputStream body,
+                                              @RequestParam(defaultValue = "1000") int chunkSize) throws IOException {
+        if (chunkSize < 1 || chunkSize > MAX_IMPORT_CHUNK_SIZE) {
+            throw new IllegalArgumentException(String.format("Chunk size must be between 1 and %d", MAX_IMPORT_CHUNK_SIZE));
+        }
+        List<ChunkResult> results = new ArrayList<>();
+        List<Question> chunk = new ArrayList<>(chunkSize);
+        String malformed = null;
+        // Reads a JSON array or newline-delimited objects one at a time, so only the current chunk is held in memory
+        try (MappingIterator<Question> questions = objectMapper.readerFor(Question.class).readValues(body)) {
+            while (questions.hasNextValue()) {
+                chunk.add(questions.nextValue());
+                if (chunk.size() == chunkSize) {
+                    results.add(importChunk(results.size(), chunkSize, chunk, null));
+                    chunk = new ArrayList<>(chunkSize);
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // Earlier chunks are already committed, so report where the input broke off rather than failing outright
+            malformed = "Malformed input: " + e.getOriginalMessage();
+        }
+        if (!chunk.isEmpty() || nonNull(malformed)) {
+            results.add(importChunk(results.size(), chunkSize, chunk, malformed));
+        }
+        return BulkImportResponse.of(results);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public ResponseEntity<Question> getQuestion(@PathVariable Long id) {
+    public ResponseEntity<Question> getQuestion(@PathVariable Long id, ServletWebRequest request) {
+        if (notModified(request, questionService.getQuestionVersion(id))) {
+            return null;
+        }
         Optional<Question> question = questionService.getQuestion(id);
         return question.map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
@@ -44,11 +156,51 @@ public class QuestionController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('USER', 'ADMIN')")
-    public List<QuestionsResponse> getAllQuestion() {
-        QuestionsResponse response = new QuestionsResponse(questionService.getAllQuestions());
+    public List<QuestionsResponse> getAllQuestion(@RequestParam(required = false) Long after,
+                                                  @RequestParam(defaultValue = "50") int limit,
+                                                  ServletWebRequest request) {
+        // Every page is tagged with the bank version, so any write revalidates all cached pages
+        if (notModified(request, questionService.getBankVersion())) {
+            return null;
+        }
+        QuestionPage page = questionService.getQuestions(after, limit);
+        QuestionsResponse response = new QuestionsResponse(page.questions(), page.nextCursor());
         return List.of(response);
     }
 
+    // Duplicate check before creating a question: ranked trigram matches on content and options, paged by offset
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    public QuestionsResponse searchQuestions(@RequestParam(defaultValue = "") String q,
+                                             @RequestParam(defaultValue = "0") int offset,
+                                             @RequestParam(defaultValue = "20") int limit) {
+        QuestionPage page = questionService.searchQuestions(q, offset, limit);
+        return new QuestionsResponse(page.questions(), page.nextCursor());
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportQuestions() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                // One compact JSON document per line instead of Jackson's default space between root values
+                generator.setRootValueSeparator(null);
+                questionService.exportQuestions(question -> {
+                    try {
+                        generator.writeObject(question);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"questions.ndjson\"")
+                .body(body);
+    }
+
     @PatchMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public Question updateQuestion(@PathVariable Long id, @Valid @RequestBody Question question) {
@@ -61,4 +213,63 @@ public class QuestionController {
     public void deleteQuestion(@PathVariable Long id) {
         questionService.deleteQuestion(id);
     }
+
+    // A seeded quiz only changes with the bank, so shared caches may serve it to every student who asks for the same seed.
+    // The daily challenge is seeded by the date and cached no later than the end of that day.
+    private ResponseEntity<QuestionsResponse> getSeededQuestions(int count, Long seed, boolean daily,
+                                                                 QuestionFilter filter, ServletWebRequest request) {
+        long quizSeed = isNull(seed) ? 0 : seed;
+        long maxAge = seededMaxAge.toSeconds();
+        if (daily) {
+            ZonedDateTime now = ZonedDateTime.now(dailyZone);
+            ZonedDateTime midnight = now.toLocalDate().plusDays(1).atStartOfDay(dailyZone);
+            quizSeed = now.toLocalDate().toEpochDay();
+            maxAge = Math.min(maxAge, Duration.between(now, midnight).toSeconds());
+        }
+        ContentVersion version = questionService.getBankVersion();
+        if (nonNull(request.getResponse())) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL,
+                    CacheControl.maxAge(Duration.ofSeconds(maxAge)).cachePublic().getHeaderValue());
+        }
+        // The shared bank version, so every instance tags the same quiz alike. Set and String hashes are specified,
+        // so the filter's part is the same on every instance too.
+        int filterHash = Objects.hash(filter.allTags(), filter.anyTags(), filter.topics(), filter.difficulties());
+        String eTag = String.format("\"%d-%d-%d-%x\"", version.value(), quizSeed, count, filterHash);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok(new QuestionsResponse(questionService.getSeededQuestions(count, quizSeed, filter)));
+    }
+
+    // The version is read before the data, so a concurrent write can only leave a body tagged as older than it is.
+    // Also sets ETag and Last-Modified on the response when the body is sent.
+    private static boolean notModified(ServletWebRequest request, ContentVersion version) {
+        if (nonNull(request.getResponse())) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE.getHeaderValue());
+        }
+        return request.checkNotModified(String.format("\"%d\"", version.value()), version.lastModified().toEpochMilli());
+    }
+
+    // Each chunk is committed in its own transaction; invalid questions are skipped and the first problem reported
+    private ChunkResult importChunk(int index, int chunkSize, List<Question> chunk, String error) {
+        List<Question> valid = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Set<ConstraintViolation<Question>> violations = validator.validate(chunk.get(i));
+            if (violations.isEmpty()) {
+                valid.add(chunk.get(i));
+            } else if (isNull(error)) {
+                long position = (long) index * chunkSize + i + 1;
+                error = String.format("Question %d: %s", position, violations.iterator().next().getMessage());
+            }
+        }
+        int imported = 0;
+        if (!valid.isEmpty()) {
+            try {
+                imported = questionService.createQuestions(valid).size();
+            } catch (DataAccessException | TransactionException e) {
+                error = e.getMostSpecificCause().getMessage();
+            }
+        }
+        return new ChunkResult(index, chunk.size(), imported, error);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.example.mathquiz.adapter.in.web;
+
+import com.example.mathquiz.adapter.in.web.dto.GradeRequest;
+import com.example.mathquiz.application.port.in.QuizService;
+import com.example.mathquiz.domain.QuizGrade;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/quizzes")
+@RequiredArgsConstructor
+public class QuizController {
+    private final QuizService quizService;
+
+    // Open like /questions/random: the signed quiz token is the credential
+    @PostMapping("/grade")
+    public QuizGrade grade(@Valid @RequestBody GradeRequest request) {
+        return quizService.grade(request.quizToken(), request.answers());
+    }
+}
@@ -1,15 +1,21 @@
 package com.example.mathquiz.adapter.in.web;
 
 import com.example.mathquiz.config.security.JwtTokenUtil;
+import com.example.mathquiz.config.security.PasswordCheckRejectedException;
 import com.example.mathquiz.domain.AuthRequest;
 import com.example.mathquiz.domain.JwtResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -22,12 +28,20 @@ import org.springframework.web.bind.annotation.RestController;
 public class UserAuthenticationController {
     private final AuthenticationManager authenticationManager;
     private final JwtTokenUtil jwtTokenUtil;
+    private final MeterRegistry meterRegistry;
 
     @PostMapping("/login")
     public ResponseEntity<JwtResponse> authenticateUser(@Valid @RequestBody AuthRequest authRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword())
-        );
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword())
+            );
+        } catch (RuntimeException e) {
+            countLogin(loginFailure(e));
+            throw e;
+        }
+        countLogin("success");
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtTokenUtil.generateToken(authentication);
 
@@ -35,4 +49,21 @@ public class UserAuthenticationController {
                 .header(HttpHeaders.AUTHORIZATION, String.format("Bearer %s", jwt))
                 .body(new JwtResponse(authentication.getName(), authentication.getAuthorities(), jwt));
     }
+
+    private void countLogin(String outcome) {
+        Counter.builder("mathquiz.auth.login")
+                .description("Login attempts by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String loginFailure(RuntimeException e) {
+        return switch (e) {
+            case BadCredentialsException _, UsernameNotFoundException _ -> "bad_credentials";
+            case PasswordCheckRejectedException _ -> "rejected";
+            case AuthenticationException _ -> "denied";
+            default -> "error";
+        };
+    }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.mathquiz.adapter.in.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+public record BulkImportResponse(long received, long imported, long rejected, List<ChunkResult> chunks) {
+
+    public static BulkImportResponse of(List<ChunkResult> chunks) {
+        long received = chunks.stream().mapToLong(ChunkResult::received).sum();
+        long imported = chunks.stream().mapToLong(ChunkResult::imported).sum();
+        return new BulkImportResponse(received, imported, received - imported, chunks);
+    }
+
+    public record ChunkResult(int chunk, int received, int imported,
+                              @JsonInclude(JsonInclude.Include.NON_NULL) String error) {}
+}
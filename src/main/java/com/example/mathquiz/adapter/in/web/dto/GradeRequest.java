@@ -0,0 +1,9 @@
+package com.example.mathquiz.adapter.in.web.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+// One answer per quiz question, in the order they were issued; null leaves a question unanswered
+public record GradeRequest(@NotBlank String quizToken, @NotNull List<Integer> answers) {}
@@ -1,19 +1,34 @@
 package com.example.mathquiz.adapter.in.web.dto;
 
 import com.example.mathquiz.domain.Question;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 
 import java.util.List;
 
+import static java.util.Objects.isNull;
+
 @Getter
 public class QuestionsResponse {
     private final List<Question> questions;
     private final Summary summary;
 
     public QuestionsResponse(List<Question> questions) {
+        this(questions, null);
+    }
+
+    public QuestionsResponse(List<Question> questions, Long nextCursor) {
         this.questions = questions;
-        this.summary = new Summary(questions.size());
+        this.summary = new Summary(questions.size(), nextCursor);
+    }
+
+    // Reads the cursor back from the summary; count and message are always derived from the questions
+    @JsonCreator
+    private static QuestionsResponse fromJson(@JsonProperty("questions") List<Question> questions,
+                                              @JsonProperty("summary") Summary summary) {
+        return new QuestionsResponse(questions, isNull(summary) ? null : summary.getNextCursor());
     }
 
     @Getter
@@ -24,9 +39,20 @@ public class QuestionsResponse {
         @JsonProperty("message")
         private final String message;
 
+        @JsonProperty("nextCursor")
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private final Long nextCursor;
+
         public Summary(int totalQuestions) {
+            this(totalQuestions, null);
+        }
+
+        @JsonCreator
+        public Summary(@JsonProperty("totalQuestions") int totalQuestions,
+                       @JsonProperty("nextCursor") Long nextCursor) {
             this.totalQuestions = totalQuestions;
             this.message = generateMessage(totalQuestions);
+            this.nextCursor = nextCursor;
         }
 
         private String generateMessage(int count) {
@@ -0,0 +1,7 @@
+package com.example.mathquiz.adapter.in.web.dto;
+
+import com.example.mathquiz.domain.QuizOverlap;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record QuizBatchRequest(@NotNull @Min(1) Integer quizzes, @NotNull @Min(1) Integer size, QuizOverlap overlap) {}
@@ -0,0 +1,7 @@
+package com.example.mathquiz.adapter.in.web.dto;
+
+import com.example.mathquiz.domain.QuizOverlap;
+
+import java.util.List;
+
+public record QuizBatchResponse(QuizOverlap overlap, List<QuestionsResponse> quizzes) {}
@@ -0,0 +1,20 @@
+package com.example.mathquiz.adapter.in.web.dto;
+
+import com.example.mathquiz.domain.Question;
+import com.example.mathquiz.domain.Quiz;
+
+import java.util.List;
+
+// A quiz without its answers; the token is handed back with the answers to have them graded
+public record QuizResponse(List<QuizQuestion> questions, String quizToken, QuestionsResponse.Summary summary) {
+    public static QuizResponse of(Quiz quiz) {
+        List<QuizQuestion> questions = quiz.questions().stream().map(QuizQuestion::of).toList();
+        return new QuizResponse(questions, quiz.token(), new QuestionsResponse.Summary(questions.size()));
+    }
+
+    public record QuizQuestion(Long id, String content, List<String> options) {
+        static QuizQuestion of(Question question) {
+            return new QuizQuestion(question.getId(), question.getContent(), question.getOptions());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.mathquiz.adapter.out.generator;
+
+import com.example.mathquiz.application.port.out.LoadQuestionsPort;
+import com.example.mathquiz.domain.ArithmeticQuestionGenerator;
+import com.example.mathquiz.domain.Question;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// Seeds the bank from the arithmetic generator instead of a file; the same seed always yields the same bank
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "mathquiz.questions.seed.source", havingValue = "generated")
+@RequiredArgsConstructor
+public class GeneratedQuestionLoader implements LoadQuestionsPort {
+    private static final int DEFAULT_BATCH_SIZE = 1_000;
+    private final ArithmeticQuestionGenerator generator;
+    @Value("${mathquiz.questions.seed.generated-count:1000}")
+    private long count;
+
+    @Override
+    public List<Question> loadQuestions() {
+        List<Question> questions = new ArrayList<>();
+        loadQuestions(DEFAULT_BATCH_SIZE, questions::addAll);
+        return questions;
+    }
+
+    @Override
+    public long loadQuestions(int batchSize, Consumer<List<Question>> batchConsumer) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        if (count > generator.distinctQuestions()) {
+            log.warn("Seeding {} generated questions, but max-operand only allows {} different ones; the rest repeat them",
+                    count, generator.distinctQuestions());
+        }
+        // Generation is far cheaper than the inserts, so batches are produced on the consumer's thread as it asks
+        for (long start = 0; start < count; start += batchSize) {
+            int size = (int) Math.min(batchSize, count - start);
+            List<Question> batch = new ArrayList<>(size);
+            for (long index = start; index < start + size; index++) {
+                batch.add(generator.generate(index));
+            }
+            batchConsumer.accept(batch);
+        }
+        return Math.max(count, 0);
+    }
+}
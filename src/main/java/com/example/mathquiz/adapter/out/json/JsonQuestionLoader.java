@@ -2,23 +2,175 @@ package com.example.mathquiz.adapter.out.json;
 
 import com.example.mathquiz.application.port.out.LoadQuestionsPort;
 import com.example.mathquiz.domain.Question;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.core.io.ClassPathResource;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.stereotype.Component;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static java.util.Objects.nonNull;
 
 @Component
+@ConditionalOnProperty(name = "mathquiz.questions.seed.source", havingValue = "json", matchIfMissing = true)
+@RequiredArgsConstructor
 public class JsonQuestionLoader implements LoadQuestionsPort {
+    private static final int DEFAULT_BATCH_SIZE = 1_000;
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    // Sentinel each shard task enqueues when it is done, successful or not
+    private static final List<Question> END_OF_SHARD = List.of();
+    private final ObjectMapper objectMapper;
+    private final ResourcePatternResolver resourceResolver;
+    @Value("${mathquiz.questions.seed.location:classpath:sample-questions.json}")
+    private String location;
+    @Value("${mathquiz.questions.seed.parallelism:0}")
+    private int parallelism;
+
     @Override
     public List<Question> loadQuestions() {
+        List<Question> questions = new ArrayList<>();
+        loadQuestions(DEFAULT_BATCH_SIZE, questions::addAll);
+        return questions;
+    }
+
+    @Override
+    public long loadQuestions(int batchSize, Consumer<List<Question>> batchConsumer) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        List<Resource> shards = resolveShards();
+        if (shards.isEmpty()) {
+            return 0;
+        }
+        int workers = Math.min(shards.size(), parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        // Parsers block once the consumer falls this far behind, so memory stays bounded by batch size, not bank size
+        BlockingQueue<List<Question>> batches = new ArrayBlockingQueue<>(workers * 2);
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, Thread.ofPlatform().name("question-loader-", 0).factory());
         try {
-            ClassPathResource resource = new ClassPathResource("sample-questions.json");
-            ObjectMapper mapper = new ObjectMapper();
-            return List.of(mapper.readValue(resource.getInputStream(), Question[].class));
-        } catch (IOException _) {
-            return List.of();
+            shards.forEach(shard -> executor.execute(() -> parseShard(shard, batchSize, batches, failure)));
+            // Batches are handed to the consumer on the calling thread, one at a time
+            long loaded = 0;
+            int finished = 0;
+            while (finished < shards.size()) {
+                List<Question> batch = batches.take();
+                if (nonNull(failure.get())) {
+                    throw new UncheckedIOException("Failed to load questions from " + location, asIOException(failure.get()));
+                }
+                if (batch == END_OF_SHARD) {
+                    finished++;
+                } else {
+                    batchConsumer.accept(batch);
+                    loaded += batch.size();
+                }
+            }
+            return loaded;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading questions", e);
+        } finally {
+            executor.shutdownNow();
         }
     }
+
+    private void parseShard(Resource shard, int batchSize, BlockingQueue<List<Question>> batches,
+                            AtomicReference<Exception> failure) {
+        ObjectReader reader = objectMapper.readerFor(Question.class);
+        try (InputStream input = open(shard); JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            // A shard is either a single JSON array or a sequence of top-level objects (NDJSON)
+            JsonToken token = parser.nextToken();
+            boolean array = token == JsonToken.START_ARRAY;
+            if (array) {
+                token = parser.nextToken();
+            }
+            List<Question> batch = new ArrayList<>(batchSize);
+            while (token == JsonToken.START_OBJECT) {
+                batch.add(reader.readValue(parser));
+                if (batch.size() == batchSize) {
+                    batches.put(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+                token = parser.nextToken();
+            }
+            if (array ? token != JsonToken.END_ARRAY : nonNull(token)) {
+                throw new JsonParseException(parser, "Expected a question object in " + shard.getDescription());
+            }
+            if (!batch.isEmpty()) {
+                batches.put(batch);
+            }
+        } catch (IOException | RuntimeException e) {
+            failure.compareAndSet(null, e);
+        } catch (InterruptedException _) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                batches.put(END_OF_SHARD);
+            } catch (InterruptedException _) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private List<Resource> resolveShards() {
+        try {
+            List<Resource> shards = new ArrayList<>();
+            for (Resource resource : resourceResolver.getResources(location)) {
+                if (resource.isFile() && resource.getFile().isDirectory()) {
+                    try (Stream<Path> files = Files.list(resource.getFile().toPath())) {
+                        files.filter(JsonQuestionLoader::isShard)
+                                .sorted()
+                                .map(FileSystemResource::new)
+                                .forEach(shards::add);
+                    }
+                } else if (resource.exists()) {
+                    shards.add(resource);
+                }
+            }
+            return shards;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to resolve question shards from " + location, e);
+        }
+    }
+
+    private static boolean isShard(Path path) {
+        String name = path.getFileName().toString();
+        return Files.isRegularFile(path) && (name.endsWith(".json") || name.endsWith(".json.gz")
+                || name.endsWith(".ndjson") || name.endsWith(".ndjson.gz"));
+    }
+
+    private static InputStream open(Resource shard) throws IOException {
+        InputStream input = shard.getInputStream();
+        String name = shard.getFilename();
+        if (nonNull(name) && name.endsWith(".gz")) {
+            return new GZIPInputStream(input, READ_BUFFER_SIZE);
+        }
+        return new BufferedInputStream(input, READ_BUFFER_SIZE);
+    }
+
+    private static IOException asIOException(Exception e) {
+        return e instanceof IOException io ? io : new IOException(e);
+    }
 }
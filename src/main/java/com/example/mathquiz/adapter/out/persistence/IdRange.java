@@ -0,0 +1,3 @@
+package com.example.mathquiz.adapter.out.persistence;
+
+public record IdRange(Long min, Long max) {}
@@ -2,19 +2,53 @@ package com.example.mathquiz.adapter.out.persistence;
 
 import com.example.mathquiz.application.port.out.PersistQuestionPort;
 import com.example.mathquiz.domain.Question;
+import com.example.mathquiz.domain.QuestionPage;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.util.Objects.isNull;
 
 @Component
 public class JpaQuestionRepositoryAdapter implements PersistQuestionPort {
+    private static final int DENSE_SPAN_FACTOR = 4;
+    private static final int PROBE_ROUNDS = 4;
+    // Far below the 32767 parameters PostgreSQL accepts in one statement
+    private static final int PROBE_BATCH_SIZE = 1_000;
+    private static final int EXPORT_PAGE_SIZE = QuestionEntity.TAG_BATCH_SIZE;
     private final QuestionRepository repository;
     private final QuestionMapper mapper;
+    private final EntityManager entityManager;
 
-    public JpaQuestionRepositoryAdapter(QuestionRepository repository, QuestionMapper mapper) {
+    public JpaQuestionRepositoryAdapter(QuestionRepository repository, QuestionMapper mapper,
+                                        EntityManager entityManager) {
         this.repository = repository;
         this.mapper = mapper;
+        this.entityManager = entityManager;
     }
 
     @Override
@@ -26,11 +60,53 @@ public class JpaQuestionRepositoryAdapter implements PersistQuestionPort {
                 .orElse(savedEntity));
     }
 
+    @Override
+    @Transactional
+    public List<Question> saveAll(List<Question> questions) {
+        List<QuestionEntity> entities = questions.stream()
+                .map(mapper::toEntity)
+                .toList();
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode cacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.IGNORE);
+        List<QuestionEntity> saved;
+        try {
+            saved = repository.saveAll(entities);
+            entityManager.flush();
+        } finally {
+            session.setCacheMode(cacheMode);
+        }
+        return saved.stream()
+                .map(mapper::toDomain)
+                .toList();
+    }
+
     @Override
     public Optional<Question> findById(Long id) {
         return repository.findByIdWithOptions(id).map(mapper::toDomain);
     }
 
+    @Override
+    public List<Question> findAllById(List<Long> ids) {
+        Map<Long, QuestionEntity> entities = repository.findAllByIdWithOptions(ids).stream()
+                .collect(Collectors.toMap(QuestionEntity::getId, Function.identity()));
+        return ids.stream()
+                .map(entities::get)
+                .filter(Objects::nonNull)
+                .map(mapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return repository.findIdsAfter(Long.MIN_VALUE, Limit.of(1)).isEmpty();
+    }
+
+    @Override
+    public long count() {
+        return repository.count();
+    }
+
     @Override
     public List<Question> findAll() {
         return repository.findAllWithOptions().stream()
@@ -38,11 +114,94 @@ public class JpaQuestionRepositoryAdapter implements PersistQuestionPort {
                 .toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<Question> findRandom(int count) {
+        return findRandom(count, ThreadLocalRandom.current());
+    }
+
+    // Ids are ordered before every random choice, so the same seed against the same rows picks the same questions
+    @Override
+    @Transactional(readOnly = true)
+    public List<Question> findRandom(int count, long seed) {
+        return findRandom(count, new SplittableRandom(seed));
+    }
+
+    private List<Question> findRandom(int count, RandomGenerator random) {
+        IdRange range = repository.findIdRange();
+        if (isNull(range) || isNull(range.min())) {
+            return List.of();
+        }
+        long span = range.max() - range.min() + 1;
+        List<Long> ids = span <= (long) count * DENSE_SPAN_FACTOR
+                ? pickFromAllIds(count, random)
+                : probeIdRange(range, count, random);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return findAllById(ids);
+    }
+
+    @Override
+    public QuestionPage findPage(Long after, int limit) {
+        List<Long> ids = repository.findIdsAfter(isNull(after) ? Long.MIN_VALUE : after, Limit.of(limit + 1));
+        boolean hasMore = ids.size() > limit;
+        List<Long> pageIds = hasMore ? ids.subList(0, limit) : ids;
+        if (pageIds.isEmpty()) {
+            return new QuestionPage(List.of(), null);
+        }
+        List<Question> questions = repository.findAllByIdWithOptions(pageIds).stream()
+                .sorted(Comparator.comparing(QuestionEntity::getId))
+                .map(mapper::toDomain)
+                .toList();
+        return new QuestionPage(questions, hasMore ? pageIds.getLast() : null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAll(Consumer<Question> sink) {
+        long exported = 0;
+        long after = Long.MIN_VALUE;
+        List<Long> ids;
+        while (!(ids = repository.findIdsAfter(after, Limit.of(EXPORT_PAGE_SIZE))).isEmpty()) {
+            List<QuestionEntity> page = new ArrayList<>(repository.findAllByIdForExport(ids));
+            page.sort(Comparator.comparing(QuestionEntity::getId));
+            for (QuestionEntity entity : page) {
+                sink.accept(mapper.toDomain(entity));
+            }
+            exported += page.size();
+            after = ids.getLast();
+            entityManager.clear();
+        }
+        return exported;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportAnswers(BiConsumer<Long, Integer> sink) {
+        long exported = 0;
+        try (Stream<AnswerRow> answers = repository.streamAnswers()) {
+            Iterator<AnswerRow> iterator = answers.iterator();
+            while (iterator.hasNext()) {
+                AnswerRow row = iterator.next();
+                sink.accept(row.id(), row.correctOption());
+                exported++;
+            }
+        }
+        return exported;
+    }
+
     @Override
     public void deleteById(Long id) {
         repository.deleteById(id);
     }
 
+    // Bulk statements: Hibernate clears the option and tag rows first
+    @Override
+    public void deleteAll() {
+        repository.deleteAllInBatch();
+    }
+
     @Override
     public Question update(Question question) {
         QuestionEntity entity = mapper.toEntity(question);
@@ -51,4 +210,53 @@ public class JpaQuestionRepositoryAdapter implements PersistQuestionPort {
         return mapper.toDomain(repository.findByIdWithOptions(updatedEntity.getId())
                 .orElse(updatedEntity));
     }
-}
\ No newline at end of file
+
+    private List<Long> pickFromAllIds(int count, RandomGenerator random) {
+        List<Long> ids = new ArrayList<>(repository.findAllIds());
+        ids.sort(null);
+        Collections.shuffle(ids, random);
+        return ids.subList(0, Math.min(count, ids.size()));
+    }
+
+    private List<Long> probeIdRange(IdRange range, int count, RandomGenerator random) {
+        Set<Long> picked = new LinkedHashSet<>();
+        for (int round = 0; round < PROBE_ROUNDS && picked.size() < count; round++) {
+            int missing = count - picked.size();
+            Set<Long> candidates = new HashSet<>();
+            while (candidates.size() < missing * 2) {
+                long candidate = random.nextLong(range.min(), range.max() + 1);
+                if (!picked.contains(candidate)) {
+                    candidates.add(candidate);
+                }
+            }
+            List<Long> hits = new ArrayList<>();
+            for (List<Long> batch : batches(candidates)) {
+                hits.addAll(repository.findExistingIds(batch));
+            }
+            hits.sort(null);
+            Collections.shuffle(hits, random);
+            hits.stream().limit(missing).forEach(picked::add);
+        }
+        if (picked.size() < count) {
+            pickByOffset(picked, count, random);
+        }
+        return new ArrayList<>(picked);
+    }
+
+    // Very sparse ids: pick a row position, which is uniform however the ids are spread
+    private void pickByOffset(Set<Long> picked, int count, RandomGenerator random) {
+        long rows = repository.count();
+        for (int attempt = 0; attempt < count * PROBE_ROUNDS && picked.size() < Math.min(count, rows); attempt++) {
+            repository.findIdAtPosition(random.nextLong(rows)).ifPresent(picked::add);
+        }
+    }
+
+    private static List<List<Long>> batches(Collection<Long> ids) {
+        List<Long> all = new ArrayList<>(ids);
+        List<List<Long>> batches = new ArrayList<>();
+        for (int from = 0; from < all.size(); from += PROBE_BATCH_SIZE) {
+            batches.add(all.subList(from, Math.min(all.size(), from + PROBE_BATCH_SIZE)));
+        }
+        return batches;
+    }
+}
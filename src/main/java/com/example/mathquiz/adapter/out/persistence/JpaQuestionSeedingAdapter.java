@@ -0,0 +1,34 @@
+package com.example.mathquiz.adapter.out.persistence;
+
+import com.example.mathquiz.application.port.out.QuestionSeedingPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class JpaQuestionSeedingAdapter implements QuestionSeedingPort {
+    private final QuestionSeedingRepository repository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Seeding> findSeeding() {
+        return repository.findById(QuestionSeedingEntity.ID)
+                .map(seeding -> new Seeding(seeding.isCompleted(), seeding.getSeeded()));
+    }
+
+    @Override
+    @Transactional
+    public void startSeeding() {
+        repository.save(new QuestionSeedingEntity(QuestionSeedingEntity.ID, false, 0, Instant.now()));
+    }
+
+    @Override
+    @Transactional
+    public void completeSeeding(long seeded) {
+        repository.save(new QuestionSeedingEntity(QuestionSeedingEntity.ID, true, seeded, Instant.now()));
+    }
+}
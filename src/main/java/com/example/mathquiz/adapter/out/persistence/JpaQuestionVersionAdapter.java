@@ -0,0 +1,85 @@
+package com.example.mathquiz.adapter.out.persistence;
+
+import com.example.mathquiz.application.port.out.QuestionVersionPort;
+import com.example.mathquiz.domain.ContentVersion;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class JpaQuestionVersionAdapter implements QuestionVersionPort {
+    private static final String BUMP = """
+            UPDATE question_bank_version
+            SET previous_value = version_value, version_value = GREATEST(version_value + 1, :atLeast),
+                last_modified = :lastModified
+            WHERE id = :id""";
+    private static final String BUMP_RETURNING = BUMP + " RETURNING previous_value, version_value";
+    // H2 has no UPDATE ... RETURNING
+    private static final String BUMP_FINAL_TABLE = "SELECT previous_value, version_value FROM FINAL TABLE (" + BUMP + ")";
+    private final QuestionBankVersionRepository bankVersionRepository;
+    private final QuestionChangeRepository changeRepository;
+    private final EntityManager entityManager;
+
+    // One transaction, bank first: every change up to the bank version read has committed by then,
+    // even when the read lands on a replica
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<SharedVersions> findVersions(long changedAfter) {
+        return bankVersionRepository.findById(QuestionBankVersionEntity.ID).map(bank -> {
+            Map<Long, ContentVersion> changed = new HashMap<>();
+            changeRepository.findByValueGreaterThan(changedAfter).forEach(change -> changed.put(
+                    change.getQuestionId(), new ContentVersion(change.getValue(), change.getLastModified())));
+            return new SharedVersions(new ContentVersion(bank.getValue(), bank.getLastModified()), changed);
+        });
+    }
+
+    // Instances starting together race to create the row; the losers' inserts are simply skipped
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void createBankVersion(ContentVersion version) {
+        entityManager.createQuery("""
+                        INSERT INTO QuestionBankVersionEntity (id, value, lastModified)
+                        VALUES (:id, :value, :lastModified) ON CONFLICT DO NOTHING""")
+                .setParameter("id", QuestionBankVersionEntity.ID)
+                .setParameter("value", version.value())
+                .setParameter("lastModified", version.lastModified())
+                .executeUpdate();
+    }
+
+    // One statement: the row stays locked until the caller commits, so versions are still handed out in commit order
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Optional<BankVersionStep> bumpBankVersion(long atLeast, Instant lastModified) {
+        List<?> rows = entityManager.createNativeQuery(isPostgres() ? BUMP_RETURNING : BUMP_FINAL_TABLE)
+                .setParameter("id", QuestionBankVersionEntity.ID)
+                .setParameter("atLeast", atLeast)
+                .setParameter("lastModified", lastModified)
+                .getResultList();
+        return rows.stream().findFirst().map(row -> {
+            Object[] values = (Object[]) row;
+            return new BankVersionStep(((Number) values[0]).longValue(), ((Number) values[1]).longValue());
+        });
+    }
+
+    private boolean isPostgres() {
+        return entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void saveQuestionChange(Long id, ContentVersion version) {
+        changeRepository.save(new QuestionChangeEntity(id, version.value(), version.lastModified()));
+    }
+}
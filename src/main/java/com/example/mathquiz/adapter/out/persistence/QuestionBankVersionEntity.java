@@ -0,0 +1,29 @@
+package com.example.mathquiz.adapter.out.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// The single row every instance reads its bank version from. Each write bumps it in one UPDATE, which also keeps
+// the value it replaced, and holds its row lock until the write commits, so versions are handed out in commit order.
+@Entity
+@Table(name = "question_bank_version")
+@Data
+@NoArgsConstructor
+public class QuestionBankVersionEntity {
+    public static final int ID = 1;
+    @Id
+    private Integer id;
+    @Column(name = "version_value", nullable = false)
+    private long value;
+    // Nullable so ddl-auto can add it to an existing row
+    @Column(name = "previous_value")
+    private Long previousValue;
+    @Column(nullable = false)
+    private Instant lastModified;
+}
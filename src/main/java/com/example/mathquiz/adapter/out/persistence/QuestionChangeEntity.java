@@ -0,0 +1,27 @@
+package com.example.mathquiz.adapter.out.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Latest update or delete of each question, kept after the question itself is gone so other instances still see it
+@Entity
+@Table(name = "question_changes", indexes = @Index(name = "idx_question_changes_version", columnList = "version_value"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionChangeEntity {
+    @Id
+    private Long questionId;
+    @Column(name = "version_value", nullable = false)
+    private long value;
+    @Column(nullable = false)
+    private Instant lastModified;
+}
@@ -0,0 +1,11 @@
+package com.example.mathquiz.adapter.out.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface QuestionChangeRepository extends JpaRepository<QuestionChangeEntity, Long> {
+    List<QuestionChangeEntity> findByValueGreaterThan(long value);
+}
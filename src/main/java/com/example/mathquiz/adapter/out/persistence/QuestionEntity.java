@@ -3,24 +3,45 @@ package com.example.mathquiz.adapter.out.persistence;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
+import java.util.Set;
 
 @Entity
 @Table(name = "questions")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "questions")
 @Data
 @NoArgsConstructor
 public class QuestionEntity {
+    public static final int ID_ALLOCATION_SIZE = 50;
+    public static final int TAG_BATCH_SIZE = 500;
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "questions_seq")
+    @SequenceGenerator(name = "questions_seq", sequenceName = "questions_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     @Column(length = 500)
     private String content;
     @ElementCollection
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "question_options")
     @CollectionTable(name = "question_options", joinColumns = @JoinColumn(name = "question_id"))
     @Column(name = "option_value")
     private List<String> options;
     private Integer correctOption;
+    @Column(length = 100)
+    private String topic;
+    private Integer difficulty;
+    // Batch-loaded: fetch-joining a second collection would multiply the options bag
+    @ElementCollection(fetch = FetchType.EAGER)
+    @BatchSize(size = TAG_BATCH_SIZE)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "question_tags")
+    @CollectionTable(name = "question_tags", joinColumns = @JoinColumn(name = "question_id"),
+            indexes = @Index(name = "idx_question_tags_tag", columnList = "tag"))
+    @Column(name = "tag", length = 50)
+    private Set<String> tags;
 
     public QuestionEntity(String content, List<String> options, Integer correctOption) {
         this.content = content;
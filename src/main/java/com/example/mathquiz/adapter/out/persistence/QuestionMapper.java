@@ -13,11 +13,17 @@ public interface QuestionMapper {
     @Mapping(target = "content", source = "content")
     @Mapping(target = "options", source = "options")
     @Mapping(target = "correctOption", source = "correctOption")
+    @Mapping(target = "topic", source = "topic")
+    @Mapping(target = "difficulty", source = "difficulty")
+    @Mapping(target = "tags", source = "tags")
     QuestionEntity toEntity(Question question);
 
     @Mapping(target = "id", source = "id")
     @Mapping(target = "content", source = "content")
     @Mapping(target = "options", source = "options")
     @Mapping(target = "correctOption", source = "correctOption")
+    @Mapping(target = "topic", source = "topic")
+    @Mapping(target = "difficulty", source = "difficulty")
+    @Mapping(target = "tags", source = "tags")
     Question toDomain(QuestionEntity entity);
 }
@@ -1,19 +1,62 @@
 package com.example.mathquiz.adapter.out.persistence;
 
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface QuestionRepository extends JpaRepository<QuestionEntity, Long> {
 
+    // Served from the query cache when the second-level cache is enabled; any write to the tables invalidates it
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT q FROM QuestionEntity q LEFT JOIN FETCH q.options WHERE q.id = :id")
     Optional<QuestionEntity> findByIdWithOptions(@Param("id") Long id);
 
+    // Whole-bank reads may use the second-level cache but must not flood it
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "GET"))
     @Query("SELECT DISTINCT q FROM QuestionEntity q LEFT JOIN FETCH q.options")
     List<QuestionEntity> findAllWithOptions();
-}
\ No newline at end of file
+
+    @Query("SELECT DISTINCT q FROM QuestionEntity q LEFT JOIN FETCH q.options WHERE q.id IN :ids")
+    List<QuestionEntity> findAllByIdWithOptions(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.example.mathquiz.adapter.out.persistence.IdRange(MIN(q.id), MAX(q.id)) FROM QuestionEntity q")
+    IdRange findIdRange();
+
+    @Query("SELECT q.id FROM QuestionEntity q")
+    List<Long> findAllIds();
+
+    @Query("SELECT q.id FROM QuestionEntity q WHERE q.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // OFFSET still walks the skipped index entries, so this is only for picks the probes could not find
+    @Query(value = "SELECT id FROM questions ORDER BY id LIMIT 1 OFFSET :position", nativeQuery = true)
+    Optional<Long> findIdAtPosition(@Param("position") long position);
+
+    @Query("SELECT q.id FROM QuestionEntity q WHERE q.id > :after ORDER BY q.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE")
+    })
+    @Query("SELECT DISTINCT q FROM QuestionEntity q LEFT JOIN FETCH q.options WHERE q.id IN :ids")
+    List<QuestionEntity> findAllByIdForExport(@Param("ids") Collection<Long> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.mathquiz.adapter.out.persistence.AnswerRow(q.id, q.correctOption) FROM QuestionEntity q")
+    Stream<AnswerRow> streamAnswers();
+}
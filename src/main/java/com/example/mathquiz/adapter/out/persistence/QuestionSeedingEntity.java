@@ -0,0 +1,29 @@
+package com.example.mathquiz.adapter.out.persistence;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+// Written before the first seed batch and completed after the last, so a bank left half seeded is recognised
+@Entity
+@Table(name = "question_seeding")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuestionSeedingEntity {
+    public static final int ID = 1;
+    @Id
+    private Integer id;
+    @Column(nullable = false)
+    private boolean completed;
+    @Column(nullable = false)
+    private long seeded;
+    @Column(nullable = false)
+    private Instant lastModified;
+}
@@ -0,0 +1,8 @@
+package com.example.mathquiz.adapter.out.persistence;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface QuestionSeedingRepository extends JpaRepository<QuestionSeedingEntity, Integer> {
+}
@@ -0,0 +1,51 @@
+package com.example.mathquiz.adapter.out.persistence;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// ddl-auto creates questions_seq at 1 even when the questions table already holds rows from the IDENTITY days,
+// so the first pooled block would collide with existing ids. Moves the sequence past them before anything inserts:
+// the entity manager factory, and with it the schema, exists first, and the web server only starts after this.
+@Slf4j
+@Component
+public class QuestionSequenceAligner {
+    // Only when behind: a sequence already past every id is left alone, so instances starting together agree
+    private static final String ALIGN_SEQUENCE = """
+            SELECT setval('questions_seq', m.max_id + ?)
+            FROM (SELECT COALESCE(MAX(id), 0) AS max_id FROM questions) m, questions_seq s
+            WHERE s.last_value < m.max_id""";
+    private final DataSource dataSource;
+
+    public QuestionSequenceAligner(DataSource dataSource, EntityManagerFactory entityManagerFactory) {
+        this.dataSource = dataSource;
+    }
+
+    @PostConstruct
+    void align() {
+        try (Connection connection = dataSource.getConnection()) {
+            if (!"PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                return;
+            }
+            try (PreparedStatement statement = connection.prepareStatement(ALIGN_SEQUENCE)) {
+                statement.setInt(1, QuestionEntity.ID_ALLOCATION_SIZE);
+                try (ResultSet moved = statement.executeQuery()) {
+                    if (moved.next()) {
+                        log.info("Moved questions_seq past the existing question ids to {}", moved.getLong(1));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not check questions_seq against the existing question ids; "
+                    + "new questions could collide with them. Move it manually with: SELECT setval('questions_seq', "
+                    + "(SELECT COALESCE(MAX(id), 0) + " + QuestionEntity.ID_ALLOCATION_SIZE + " FROM questions))", e);
+        }
+    }
+}
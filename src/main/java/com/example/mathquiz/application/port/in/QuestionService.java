@@ -1,14 +1,27 @@
 package com.example.mathquiz.application.port.in;
 
+import com.example.mathquiz.domain.ContentVersion;
 import com.example.mathquiz.domain.Question;
+import com.example.mathquiz.domain.QuestionFilter;
+import com.example.mathquiz.domain.QuestionPage;
+import com.example.mathquiz.domain.QuizOverlap;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface QuestionService {
-    List<Question> getRandomQuestions(int count);
+    List<Question> getRandomQuestions(int count, QuestionFilter filter);
+    List<Question> getSeededQuestions(int count, long seed, QuestionFilter filter);
+    List<List<Question>> getRandomQuizzes(int quizzes, int size, QuizOverlap overlap);
     Question createQuestion(Question question);
+    List<Question> createQuestions(List<Question> questions);
     Optional<Question> getQuestion(Long id);
     Question updateQuestion(Long id, Question question);
     void deleteQuestion(Long id);
     List<Question> getAllQuestions();
+    QuestionPage getQuestions(Long after, int limit);
+    QuestionPage searchQuestions(String query, int offset, int limit);
+    long exportQuestions(Consumer<Question> sink);
+    ContentVersion getBankVersion();
+    ContentVersion getQuestionVersion(Long id);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.example.mathquiz.application.port.in;
+
+import com.example.mathquiz.domain.QuestionFilter;
+import com.example.mathquiz.domain.Quiz;
+import com.example.mathquiz.domain.QuizGrade;
+
+import java.util.List;
+
+public interface QuizService {
+    Quiz startQuiz(int count, QuestionFilter filter);
+    QuizGrade grade(String quizToken, List<Integer> answers);
+}
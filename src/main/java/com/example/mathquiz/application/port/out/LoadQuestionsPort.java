@@ -2,7 +2,9 @@ package com.example.mathquiz.application.port.out;
 
 import com.example.mathquiz.domain.Question;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface LoadQuestionsPort {
     List<Question> loadQuestions();
-}
\ No newline at end of file
+    long loadQuestions(int batchSize, Consumer<List<Question>> batchConsumer);
+}
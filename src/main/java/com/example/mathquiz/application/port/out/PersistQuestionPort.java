@@ -1,13 +1,26 @@
 package com.example.mathquiz.application.port.out;
 
 import com.example.mathquiz.domain.Question;
+import com.example.mathquiz.domain.QuestionPage;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public interface PersistQuestionPort {
     Question save(Question question);
+    List<Question> saveAll(List<Question> questions);
     Optional<Question> findById(Long id);
+    List<Question> findAllById(List<Long> ids);
+    boolean isEmpty();
+    long count();
     List<Question> findAll();
+    List<Question> findRandom(int count);
+    List<Question> findRandom(int count, long seed);
+    QuestionPage findPage(Long after, int limit);
+    long exportAll(Consumer<Question> sink);
+    long exportAnswers(BiConsumer<Long, Integer> sink);
     void deleteById(Long id);
+    void deleteAll();
     Question update(Question question);
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.example.mathquiz.application.port.out;
+
+import java.util.Optional;
+
+public interface QuestionSeedingPort {
+    Optional<Seeding> findSeeding();
+    void startSeeding();
+    void completeSeeding(long seeded);
+
+    record Seeding(boolean completed, long seeded) {}
+}
@@ -0,0 +1,18 @@
+package com.example.mathquiz.application.port.out;
+
+import com.example.mathquiz.domain.ContentVersion;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+public interface QuestionVersionPort {
+    Optional<SharedVersions> findVersions(long changedAfter);
+    void createBankVersion(ContentVersion version);
+    Optional<BankVersionStep> bumpBankVersion(long atLeast, Instant lastModified);
+    void saveQuestionChange(Long id, ContentVersion version);
+
+    record SharedVersions(ContentVersion bank, Map<Long, ContentVersion> changed) {}
+
+    record BankVersionStep(long previous, long next) {}
+}
@@ -0,0 +1,155 @@
+package com.example.mathquiz.application.service;
+
+import com.example.mathquiz.domain.Question;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+// Correct option of every question, one byte per id. A byte is never torn, so writers update it in place.
+@Component
+public class AnswerKey {
+    public static final int UNKNOWN = -1;
+    // Ids beyond this, or options that do not fit a byte, are not graded
+    private static final long MAX_ID = Integer.MAX_VALUE - 8;
+    private final Lock loadLock = new ReentrantLock();
+    private volatile byte[] answers;
+    private volatile long version;
+    // Writes committing while a load reads the bank, replayed on top of what it read; guarded by this
+    private List<Consumer<AnswerKey>> pending;
+
+    public boolean isLoaded() {
+        return nonNull(answers);
+    }
+
+    // bankVersion must be read before the source reads the bank, so a write racing the load is never marked as seen
+    public void ensureLoaded(long bankVersion, Consumer<BiConsumer<Long, Integer>> source) {
+        if (isCurrent(bankVersion)) {
+            return;
+        }
+        loadLock.lock();
+        try {
+            if (isCurrent(bankVersion)) {
+                return;
+            }
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+            Builder builder = new Builder(1_024);
+            try {
+                source.accept(builder::set);
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pending = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                List<Consumer<AnswerKey>> writes = pending;
+                pending = null;
+                answers = builder.build();
+                version = bankVersion;
+                writes.forEach(write -> write.accept(this));
+            }
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    public synchronized void put(Question question, QuestionVersions.Step step) {
+        putAll(List.of(question), step);
+    }
+
+    public synchronized void putAll(Collection<Question> questions, QuestionVersions.Step step) {
+        if (nonNull(pending)) {
+            pending.add(key -> key.putAll(questions, step));
+        }
+        if (!isLoaded()) {
+            return;
+        }
+        if (!questions.isEmpty()) {
+            Builder builder = new Builder(answers);
+            questions.forEach(question -> builder.set(question.getId(), question.getCorrectOption()));
+            answers = builder.answers;
+        }
+        advance(step);
+    }
+
+    public synchronized void remove(Long id, QuestionVersions.Step step) {
+        if (nonNull(pending)) {
+            pending.add(key -> key.remove(id, step));
+        }
+        if (!isLoaded()) {
+            return;
+        }
+        byte[] current = answers;
+        if (id >= 0 && id < current.length) {
+            current[id.intValue()] = UNKNOWN;
+            answers = current;
+        }
+        advance(step);
+    }
+
+    public int answer(long id) {
+        byte[] current = answers;
+        return isNull(current) || id < 0 || id >= current.length ? UNKNOWN : current[(int) id];
+    }
+
+    private boolean isCurrent(long bankVersion) {
+        return isLoaded() && version >= bankVersion;
+    }
+
+    // A local write keeps the key current only if nothing was written elsewhere since the version it reflects
+    private void advance(QuestionVersions.Step step) {
+        if (version == step.previous()) {
+            version = step.next().value();
+        }
+    }
+
+    private static final class Builder {
+        private byte[] answers;
+
+        private Builder(int capacity) {
+            this(new byte[0]);
+            grow(capacity);
+        }
+
+        private Builder(byte[] answers) {
+            this.answers = answers;
+        }
+
+        private void set(Long id, Integer correctOption) {
+            if (isNull(id) || id < 0 || id > MAX_ID) {
+                return;
+            }
+            if (id >= answers.length) {
+                grow((int) Math.min(MAX_ID + 1, Math.max(id + 1, (long) answers.length * 2)));
+            }
+            boolean packable = nonNull(correctOption) && correctOption >= 0 && correctOption <= Byte.MAX_VALUE;
+            answers[id.intValue()] = packable ? correctOption.byteValue() : UNKNOWN;
+        }
+
+        private void grow(int capacity) {
+            int previous = answers.length;
+            answers = Arrays.copyOf(answers, capacity);
+            Arrays.fill(answers, previous, capacity, (byte) UNKNOWN);
+        }
+
+        private byte[] build() {
+            int length = answers.length;
+            while (length > 0 && answers[length - 1] == UNKNOWN) {
+                length--;
+            }
+            return length == answers.length ? answers : Arrays.copyOf(answers, length);
+        }
+    }
+}
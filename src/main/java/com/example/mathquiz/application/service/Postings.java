@@ -0,0 +1,48 @@
+package com.example.mathquiz.application.service;
+
+import java.util.Arrays;
+
+// Growable list of ascending ints for the in-memory indexes. Values arrive in ascending order, so appending keeps the
+// list sorted, and a value appended twice in a row is stored once.
+final class Postings {
+    private int[] values = new int[4];
+    private int size;
+
+    void add(int value) {
+        if (size > 0 && values[size - 1] == value) {
+            return;
+        }
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // The backing array, valid up to size(); callers must not modify it
+    int[] values() {
+        return values;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    // Renumbers every value through mapping, dropping those mapped to -1; mapping must preserve order
+    void remap(int[] mapping) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            int mapped = mapping[values[i]];
+            if (mapped >= 0) {
+                values[kept++] = mapped;
+            }
+        }
+        size = kept;
+        if (size < values.length / 4) {
+            values = Arrays.copyOf(values, Math.max(4, size));
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package com.example.mathquiz.application.service;
+
+import com.example.mathquiz.domain.Question;
+import com.example.mathquiz.domain.QuestionFilter;
+import com.example.mathquiz.domain.QuizOverlap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+// Copy-on-write, in-memory view of the question bank: readers sample an immutable snapshot, writers publish a new one.
+@Component
+public class QuestionPool {
+    private final Lock loadLock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+    // Writes committing while a load reads the bank, replayed on top of what it read; guarded by this
+    private List<Consumer<QuestionPool>> pending;
+
+    public boolean isLoaded() {
+        return nonNull(snapshot);
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return isNull(current) ? 0 : current.size();
+    }
+
+    // bankVersion must be read before the source reads the bank, so a write racing the load is never marked as seen
+    public void ensureLoaded(long bankVersion, Supplier<? extends Collection<Question>> source) {
+        if (isCurrent(bankVersion)) {
+            return;
+        }
+        if (isLoaded()) {
+            if (!loadLock.tryLock()) {
+                return;
+            }
+        } else {
+            loadLock.lock();
+        }
+        try {
+            if (isCurrent(bankVersion)) {
+                return;
+            }
+            synchronized (this) {
+                pending = new ArrayList<>();
+            }
+            Collection<Question> questions;
+            try {
+                questions = source.get();
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pending = null;
+                }
+                throw e;
+            }
+            synchronized (this) {
+                List<Consumer<QuestionPool>> writes = pending;
+                pending = null;
+                load(questions, bankVersion);
+                writes.forEach(write -> write.accept(this));
+            }
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    public synchronized void load(Collection<Question> questions, long bankVersion) {
+        snapshot = Snapshot.of(questions, bankVersion);
+    }
+
+    public synchronized void put(Question question, QuestionVersions.Step step) {
+        putAll(List.of(question), step);
+    }
+
+    public synchronized void putAll(Collection<Question> questions, QuestionVersions.Step step) {
+        if (nonNull(pending)) {
+            pending.add(pool -> pool.putAll(questions, step));
+        }
+        if (isLoaded()) {
+            if (!questions.isEmpty()) {
+                snapshot = snapshot.withQuestions(questions);
+            }
+            advance(step);
+        }
+    }
+
+    public synchronized void remove(Long id, QuestionVersions.Step step) {
+        if (nonNull(pending)) {
+            pending.add(pool -> pool.remove(id, step));
+        }
+        if (isLoaded()) {
+            snapshot = snapshot.withoutQuestion(id);
+            advance(step);
+        }
+    }
+
+    // A local write keeps the snapshot current only if nothing was written elsewhere since the version it reflects
+    private void advance(QuestionVersions.Step step) {
+        if (snapshot.version() == step.previous()) {
+            snapshot = snapshot.at(step.next().value());
+        }
+    }
+
+    private boolean isCurrent(long bankVersion) {
+        Snapshot current = snapshot;
+        return nonNull(current) && current.version() >= bankVersion;
+    }
+
+    Snapshot snapshot() {
+        return snapshot;
+    }
+
+    public List<Question> sample(int count) {
+        Snapshot current = snapshot;
+        return isNull(current) ? List.of() : current.sample(count);
+    }
+
+    public List<Question> sample(int count, QuestionFilter filter) {
+        Snapshot current = snapshot;
+        return isNull(current) ? List.of() : current.sample(count, filter, ThreadLocalRandom.current());
+    }
+
+    public List<Question> sample(int count, long seed, QuestionFilter filter) {
+        Snapshot current = snapshot;
+        return isNull(current) ? List.of() : current.sample(count, filter, new SplittableRandom(seed));
+    }
+
+    public List<List<Question>> sampleQuizzes(int quizzes, int size, QuizOverlap overlap) {
+        Snapshot current = snapshot;
+        if (isNull(current)) {
+            return Snapshot.of(List.of()).quizzes(quizzes, size, overlap);
+        }
+        return current.quizzes(quizzes, size, overlap);
+    }
+
+    static final class Snapshot {
+        private static final Comparator<Long> IDS = Comparator.nullsLast(Comparator.naturalOrder());
+        // May be shared with the snapshot this one extends; only slots below length belong to this one
+        private final Question[] questions;
+        private final int length;
+        private final long version;
+        private volatile TagIndex index;
+
+        private Snapshot(Question[] questions, int length, long version) {
+            this.questions = questions;
+            this.length = length;
+            this.version = version;
+        }
+
+        static Snapshot of(Collection<Question> questions) {
+            return of(questions, 0L);
+        }
+
+        static Snapshot of(Collection<Question> questions, long version) {
+            Question[] sorted = questions.toArray(Question[]::new);
+            Arrays.sort(sorted, Comparator.comparing(Question::getId, IDS));
+            return new Snapshot(sorted, sorted.length, version);
+        }
+
+        int size() {
+            return length;
+        }
+
+        long version() {
+            return version;
+        }
+
+        Snapshot at(long nextVersion) {
+            Snapshot moved = new Snapshot(questions, length, nextVersion);
+            moved.index = index;
+            return moved;
+        }
+
+        // New ids sort last and are appended; only an id below the last one forces a re-sort
+        Snapshot withQuestions(Collection<Question> changed) {
+            Question[] target = questions;
+            int size = length;
+            List<Question> unordered = new ArrayList<>();
+            for (Question question : changed) {
+                int position = find(target, size, question.getId());
+                if (position >= 0) {
+                    target[position] = question;
+                } else if (size == 0 || IDS.compare(question.getId(), target[size - 1].getId()) > 0) {
+                    if (size == target.length) {
+                        target = Arrays.copyOf(target, Math.max(16, size + (size >> 1)));
+                    }
+                    target[size++] = question;
+                } else {
+                    unordered.add(question);
+                }
+            }
+            if (unordered.isEmpty()) {
+                return new Snapshot(target, size, version);
+            }
+            List<Question> merged = new ArrayList<>(size + unordered.size());
+            merged.addAll(Arrays.asList(target).subList(0, size));
+            merged.addAll(unordered);
+            return of(merged, version);
+        }
+
+        Snapshot withoutQuestion(Long id) {
+            int position = find(questions, length, id);
+            if (position < 0) {
+                return this;
+            }
+            Question[] remaining = new Question[length - 1];
+            System.arraycopy(questions, 0, remaining, 0, position);
+            System.arraycopy(questions, position + 1, remaining, position, remaining.length - position);
+            return new Snapshot(remaining, remaining.length, version);
+        }
+
+        private static int find(Question[] questions, int size, Long id) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                int order = IDS.compare(questions[middle].getId(), id);
+                if (order < 0) {
+                    low = middle + 1;
+                } else if (order > 0) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -1;
+        }
+
+        List<Question> sample(int count) {
+            return sample(count, ThreadLocalRandom.current());
+        }
+
+        List<Question> sample(int count, RandomGenerator random) {
+            int picks = Math.min(count, length);
+            return questionsAt(randomIndices(length, picks, random), 0, picks);
+        }
+
+        List<Question> sample(int count, QuestionFilter filter, RandomGenerator random) {
+            if (filter.isEmpty()) {
+                return sample(count, random);
+            }
+            int[] matching = index().select(filter);
+            int picks = Math.min(count, matching.length);
+            int[] indices = randomIndices(matching.length, picks, random);
+            for (int i = 0; i < picks; i++) {
+                indices[i] = matching[indices[i]];
+            }
+            return questionsAt(indices, 0, picks);
+        }
+
+        List<List<Question>> quizzes(int quizzes, int size, QuizOverlap overlap) {
+            int picks = Math.min(size, length);
+            int total = quizzes * picks;
+            if (overlap == QuizOverlap.DISTINCT && total > length) {
+                throw new IllegalArgumentException(String.format(
+                        "%d distinct quizzes of %d questions need %d questions, but the bank holds %d",
+                        quizzes, size, (long) quizzes * size, length));
+            }
+            List<List<Question>> result = new ArrayList<>(quizzes);
+            if (overlap == QuizOverlap.INDEPENDENT) {
+                for (int quiz = 0; quiz < quizzes; quiz++) {
+                    result.add(sample(picks));
+                }
+                return result;
+            }
+            int[] dealt = total <= length
+                    ? randomIndices(length, total, ThreadLocalRandom.current())
+                    : deal(total, picks);
+            for (int quiz = 0; quiz < quizzes; quiz++) {
+                result.add(questionsAt(dealt, quiz * picks, picks));
+            }
+            return result;
+        }
+
+        private TagIndex index() {
+            TagIndex current = index;
+            if (isNull(current)) {
+                current = TagIndex.of(questions, length);
+                index = current;
+            }
+            return current;
+        }
+
+        private List<Question> questionsAt(int[] indices, int from, int count) {
+            List<Question> result = new ArrayList<>(count);
+            for (int i = from; i < from + count; i++) {
+                result.add(questions[indices[i]]);
+            }
+            return result;
+        }
+
+        private static int[] randomIndices(int size, int picks, RandomGenerator random) {
+            return picks * 2 >= size ? partialFisherYates(size, picks, random) : floyd(size, picks, random);
+        }
+
+        private int[] deal(int total, int picks) {
+            int size = length;
+            int[] dealt = new int[total];
+            int filled = 0;
+            while (filled < total) {
+                int[] order = partialFisherYates(size, size, ThreadLocalRandom.current());
+                int inQuiz = filled % picks;
+                if (inQuiz > 0) {
+                    deferRepeats(order, dealt, filled - inQuiz, filled, Math.min(picks - inQuiz, size));
+                }
+                int count = Math.min(size, total - filled);
+                System.arraycopy(order, 0, dealt, filled, count);
+                filled += count;
+            }
+            return dealt;
+        }
+
+        // Moves questions already dealt to the current quiz out of the first `needed` slots of a fresh shuffle
+        private static void deferRepeats(int[] order, int[] dealt, int quizStart, int quizEnd, int needed) {
+            Set<Integer> taken = HashSet.newHashSet(quizEnd - quizStart);
+            for (int i = quizStart; i < quizEnd; i++) {
+                taken.add(dealt[i]);
+            }
+            int spare = order.length - 1;
+            for (int i = 0; i < needed; i++) {
+                if (taken.contains(order[i])) {
+                    while (taken.contains(order[spare])) {
+                        spare--;
+                    }
+                    swap(order, i, spare--);
+                }
+            }
+        }
+
+        private static int[] partialFisherYates(int size, int picks, RandomGenerator random) {
+            int[] indices = new int[size];
+            for (int i = 0; i < size; i++) {
+                indices[i] = i;
+            }
+            for (int i = 0; i < picks; i++) {
+                swap(indices, i, random.nextInt(i, size));
+            }
+            return Arrays.copyOf(indices, picks);
+        }
+
+        // Floyd's algorithm: picks distinct indices from picks random numbers
+        private static int[] floyd(int size, int picks, RandomGenerator random) {
+            Set<Integer> chosen = HashSet.newHashSet(picks);
+            int[] indices = new int[picks];
+            int next = 0;
+            for (int upper = size - picks; upper < size; upper++) {
+                int candidate = random.nextInt(upper + 1);
+                int pick = chosen.add(candidate) ? candidate : upper;
+                if (pick == upper) {
+                    chosen.add(upper);
+                }
+                indices[next++] = pick;
+            }
+            // Floyd yields a uniform set but not a uniform order, so shuffle the picks themselves
+            for (int i = picks - 1; i > 0; i--) {
+                swap(indices, i, random.nextInt(i + 1));
+            }
+            return indices;
+        }
+
+        private static void swap(int[] values, int i, int j) {
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package com.example.mathquiz.application.service;
+
+import com.example.mathquiz.domain.Question;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+// Trigram index over question content and option text. Unlike the pool it is updated in place under a read-write lock:
+// copying the postings of millions of questions on every write would cost far more than the searches it serves.
+// Questions get dense ordinals in insertion order, so every posting list stays sorted by appending; an update
+// tombstones the old ordinal and appends a new one, and tombstones are compacted away once they are a quarter of it.
+@Component
+public class QuestionSearchIndex {
+    private static final int SPACE = ' ';
+    private static final int GALLOP_RATIO = 32;
+    private static final int MIN_COMPACTION = 1_024;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock loadLock = new ReentrantLock();
+    private Index index;
+    // Writes that commit while the index is being built, by id; a null question is a removal
+    private Map<Long, Question> pending;
+    private volatile boolean loaded;
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    // The export runs without the lock, so writers and searches never wait for it. Writes arriving meanwhile are
+    // recorded and replayed on top under a short write lock: a row the export already saw is simply re-indexed.
+    public void ensureLoaded(Consumer<Consumer<Question>> source) {
+        if (loaded) {
+            return;
+        }
+        loadLock.lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                pending = new LinkedHashMap<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            Index building = new Index();
+            try {
+                source.accept(building::index);
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    pending = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+            lock.writeLock().lock();
+            try {
+                pending.forEach((id, question) -> {
+                    building.unindex(id);
+                    if (nonNull(question)) {
+                        building.index(question);
+                    }
+                });
+                building.compactIfSparse();
+                index = building;
+                pending = null;
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    public void put(Question question) {
+        putAll(List.of(question));
+    }
+
+    public void putAll(Collection<Question> questions) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                questions.forEach(question -> {
+                    index.unindex(question.getId());
+                    index.index(question);
+                });
+                index.compactIfSparse();
+            } else if (nonNull(pending)) {
+                questions.forEach(question -> pending.put(question.getId(), question));
+            }
+            // Otherwise nothing is loaded yet: the first search reads the committed rows anyway
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                index.unindex(id);
+                index.compactIfSparse();
+            } else if (nonNull(pending)) {
+                pending.put(id, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Questions containing every trigram of the query, closest first: they all contain the whole query, so the fewer
+    // trigrams a question has, the more of it the query covers. Ties go to the question indexed first.
+    public Hits search(String query, int offset, int limit) {
+        long[] trigrams = trigrams(query);
+        if (trigrams.length == 0) {
+            return new Hits(List.of(), 0);
+        }
+        lock.readLock().lock();
+        try {
+            if (!loaded) {
+                return new Hits(List.of(), 0);
+            }
+            int[] matches = index.matching(trigrams);
+            int[] page = index.rank(matches, offset, limit);
+            List<Long> pageIds = new ArrayList<>(page.length);
+            for (int ordinal : page) {
+                pageIds.add(index.ids[ordinal]);
+            }
+            return new Hits(pageIds, matches.length);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public record Hits(List<Long> ids, int total) {}
+
+    // Lower-cased runs of letters and digits, and single maths symbols, each padded like pg_trgm: two spaces before,
+    // one after. So "5 - 3" still differs from "5 + 3", and a whole short word matches more than a prefix of a long one.
+    static long[] trigrams(String text) {
+        String normalised = text.toLowerCase(Locale.ROOT);
+        long[] trigrams = new long[2 * normalised.length() + 2];
+        int count = 0;
+        int i = 0;
+        while (i < normalised.length()) {
+            int c = normalised.codePointAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                long window = pack(SPACE, SPACE);
+                while (i < normalised.length() && Character.isLetterOrDigit(c = normalised.codePointAt(i))) {
+                    window = shift(window, c);
+                    trigrams[count++] = window;
+                    i += Character.charCount(c);
+                }
+                trigrams[count++] = shift(window, SPACE);
+            } else {
+                if (isSymbol(c)) {
+                    trigrams[count++] = shift(pack(SPACE, SPACE), c);
+                    trigrams[count++] = shift(pack(SPACE, c), SPACE);
+                }
+                i += Character.charCount(c);
+            }
+        }
+        long[] distinct = Arrays.copyOf(trigrams, count);
+        Arrays.sort(distinct);
+        int unique = 0;
+        for (int j = 0; j < distinct.length; j++) {
+            if (j == 0 || distinct[j] != distinct[j - 1]) {
+                distinct[unique++] = distinct[j];
+            }
+        }
+        return Arrays.copyOf(distinct, unique);
+    }
+
+    // Keeps in result the values also in other; gallops through other when it is much longer
+    private static int intersect(int[] result, int count, int[] other, int otherSize) {
+        int kept = 0;
+        if ((long) count * GALLOP_RATIO < otherSize) {
+            int from = 0;
+            for (int i = 0; i < count && from < otherSize; i++) {
+                int found = Arrays.binarySearch(other, from, otherSize, result[i]);
+                if (found >= 0) {
+                    result[kept++] = result[i];
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+            }
+            return kept;
+        }
+        int j = 0;
+        for (int i = 0; i < count && j < otherSize; i++) {
+            while (j < otherSize && other[j] < result[i]) {
+                j++;
+            }
+            if (j < otherSize && other[j] == result[i]) {
+                result[kept++] = result[i];
+                j++;
+            }
+        }
+        return kept;
+    }
+
+    private static final class Index {
+        // Trigram, three 21-bit code points packed into a long, to the ordinals of the questions containing it
+        private final Map<Long, Postings> postings = new HashMap<>();
+        private final Map<Long, Integer> ordinals = new HashMap<>();
+        private final BitSet deleted = new BitSet();
+        private long[] ids = new long[1_024];
+        private int[] trigramCounts = new int[1_024];
+        private int documents;
+        private int deletedDocuments;
+
+        private void index(Question question) {
+            if (isNull(question.getId())) {
+                return;
+            }
+            StringBuilder text = new StringBuilder(nonNull(question.getContent()) ? question.getContent() : "");
+            if (nonNull(question.getOptions())) {
+                question.getOptions().forEach(option -> text.append(' ').append(option));
+            }
+            long[] trigrams = trigrams(text.toString());
+            if (documents == ids.length) {
+                ids = Arrays.copyOf(ids, documents * 2);
+                trigramCounts = Arrays.copyOf(trigramCounts, documents * 2);
+            }
+            int ordinal = documents++;
+            ids[ordinal] = question.getId();
+            trigramCounts[ordinal] = trigrams.length;
+            ordinals.put(question.getId(), ordinal);
+            for (long trigram : trigrams) {
+                postings.computeIfAbsent(trigram, _ -> new Postings()).add(ordinal);
+            }
+        }
+
+        private void unindex(Long id) {
+            Integer ordinal = ordinals.remove(id);
+            if (nonNull(ordinal)) {
+                deleted.set(ordinal);
+                deletedDocuments++;
+            }
+        }
+
+        // Drops tombstoned ordinals from every posting list and renumbers the rest densely, keeping their order
+        private void compactIfSparse() {
+            if (deletedDocuments < MIN_COMPACTION || deletedDocuments * 4L < documents) {
+                return;
+            }
+            int[] mapping = new int[documents];
+            int live = 0;
+            for (int ordinal = 0; ordinal < documents; ordinal++) {
+                if (deleted.get(ordinal)) {
+                    mapping[ordinal] = -1;
+                } else {
+                    mapping[ordinal] = live;
+                    ids[live] = ids[ordinal];
+                    trigramCounts[live] = trigramCounts[ordinal];
+                    ordinals.put(ids[live], live);
+                    live++;
+                }
+            }
+            postings.values().forEach(list -> list.remap(mapping));
+            postings.values().removeIf(list -> list.size() == 0);
+            deleted.clear();
+            documents = live;
+            deletedDocuments = 0;
+        }
+
+        // Intersects the posting lists shortest first, so the work is bounded by the rarest trigram of the query
+        private int[] matching(long[] trigrams) {
+            List<Postings> lists = new ArrayList<>(trigrams.length);
+            for (long trigram : trigrams) {
+                Postings list = postings.get(trigram);
+                if (isNull(list)) {
+                    return new int[0];
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(Postings::size));
+            Postings rarest = lists.getFirst();
+            int[] result = new int[rarest.size()];
+            int count = 0;
+            for (int i = 0; i < rarest.size(); i++) {
+                int ordinal = rarest.values()[i];
+                if (!deleted.get(ordinal)) {
+                    result[count++] = ordinal;
+                }
+            }
+            for (int i = 1; i < lists.size() && count > 0; i++) {
+                // A trigram every indexed question has, like "  w" of "What is", cannot narrow anything down
+                if (lists.get(i).size() < documents) {
+                    count = intersect(result, count, lists.get(i).values(), lists.get(i).size());
+                }
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        // Trigram counts are small, so one histogram pass finds the count that cuts off the best offset + limit
+        // matches; only those are sorted. Matches arrive in ordinal order, so ties at the cut-off keep the earliest.
+        private int[] rank(int[] matches, int offset, int limit) {
+            if (matches.length <= offset) {
+                return new int[0];
+            }
+            int keep = (int) Math.min(matches.length, (long) offset + limit);
+            int maxCount = 0;
+            for (int ordinal : matches) {
+                maxCount = Math.max(maxCount, trigramCounts[ordinal]);
+            }
+            int[] histogram = new int[maxCount + 1];
+            for (int ordinal : matches) {
+                histogram[trigramCounts[ordinal]]++;
+            }
+            int cutoff = 0;
+            int better = 0;
+            while (better + histogram[cutoff] < keep) {
+                better += histogram[cutoff++];
+            }
+            int ties = keep - better;
+            long[] ranked = new long[keep];
+            int n = 0;
+            for (int ordinal : matches) {
+                int count = trigramCounts[ordinal];
+                if (count < cutoff || count == cutoff && ties-- > 0) {
+                    ranked[n++] = (long) count << 32 | ordinal;
+                }
+            }
+            Arrays.sort(ranked);
+            int[] page = new int[keep - offset];
+            for (int i = 0; i < page.length; i++) {
+                page[i] = (int) ranked[offset + i];
+            }
+            return page;
+        }
+    }
+
+    private static boolean isSymbol(int c) {
+        return Character.getType(c) == Character.MATH_SYMBOL || c == '-' || c == '*' || c == '/' || c == '%';
+    }
+
+    private static long pack(int first, int second) {
+        return ((long) first << 21) | second;
+    }
+
+    private static long shift(long window, int c) {
+        return ((window << 21) | c) & ((1L << 63) - 1);
+    }
+}
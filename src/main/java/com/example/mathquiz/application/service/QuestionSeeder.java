@@ -0,0 +1,103 @@
+package com.example.mathquiz.application.service;
+
+import com.example.mathquiz.application.port.out.LoadQuestionsPort;
+import com.example.mathquiz.application.port.out.PersistQuestionPort;
+import com.example.mathquiz.application.port.out.QuestionSeedingPort;
+import com.example.mathquiz.application.port.out.QuestionSeedingPort.Seeding;
+import com.example.mathquiz.domain.Question;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Seeds an empty or half-seeded question bank and warms the pool off the startup thread; readiness reports DOWN until it is done
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestionSeeder {
+    private static final int SEED_BATCH_SIZE = 1_000;
+    private final PersistQuestionPort persistQuestionPort;
+    private final LoadQuestionsPort loadQuestionsPort;
+    private final QuestionPool questionPool;
+    private final QuestionVersions questionVersions;
+    private final QuestionSeedingPort seedingPort;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicLong seeded = new AtomicLong();
+    @Value("${mathquiz.questions.random-strategy:pool}")
+    private RandomSelectionStrategy randomSelectionStrategy = RandomSelectionStrategy.POOL;
+    private volatile State state = State.PENDING;
+    private volatile String failure;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Thread.ofPlatform().name("question-seeder").daemon(true).start(this::seed);
+    }
+
+    public Progress progress() {
+        return new Progress(state, seeded.get(), failure);
+    }
+
+    void seed() {
+        state = State.RUNNING;
+        try {
+            // A bank without a seeding record was seeded before the record existed, or filled by hand
+            Optional<Seeding> previous = seedingPort.findSeeding();
+            boolean alreadySeeded = previous.map(Seeding::completed).orElseGet(() -> !persistQuestionPort.isEmpty());
+            if (!alreadySeeded) {
+                // Loaders may hand over shards in any order, so an interrupted seed starts over rather than resumes
+                if (previous.isPresent()) {
+                    log.warn("The previous seeding stopped before it finished; deleting its questions and seeding again");
+                    transactionTemplate.executeWithoutResult(_ -> {
+                        persistQuestionPort.deleteAll();
+                        questionVersions.questionsCreated();
+                    });
+                }
+                seedingPort.startSeeding();
+                List<Question> questions = new ArrayList<>();
+                // The pool covers the bank as of this version only while no other instance writes in between
+                AtomicLong version = new AtomicLong(questionVersions.bank().value());
+                long loaded = loadQuestionsPort.loadQuestions(SEED_BATCH_SIZE, batch -> {
+                    // Rows and the version bump commit together, so other instances always see a batch arrive
+                    List<Question> saved = new ArrayList<>(batch.size());
+                    QuestionVersions.Step step = transactionTemplate.execute(_ -> {
+                        saved.addAll(persistQuestionPort.saveAll(batch));
+                        return questionVersions.questionsCreated();
+                    });
+                    seeded.addAndGet(saved.size());
+                    version.compareAndSet(step.previous(), step.next().value());
+                    if (usesQuestionPool()) {
+                        questions.addAll(saved);
+                    }
+                });
+                seedingPort.completeSeeding(loaded);
+                if (usesQuestionPool()) {
+                    questionPool.load(questions, version.get());
+                }
+                log.info("Seeded {} questions", loaded);
+            } else if (usesQuestionPool()) {
+                questionPool.ensureLoaded(questionVersions.bank().value(), persistQuestionPort::findAll);
+            }
+            state = State.READY;
+        } catch (RuntimeException e) {
+            log.error("Question seeding failed after {} questions", seeded.get(), e);
+            failure = e.getMessage();
+            state = State.FAILED;
+        }
+    }
+
+    private boolean usesQuestionPool() {
+        return randomSelectionStrategy == RandomSelectionStrategy.POOL;
+    }
+
+    public enum State { PENDING, RUNNING, READY, FAILED }
+
+    public record Progress(State state, long seeded, String failure) {}
+}
@@ -1,55 +1,126 @@
 package com.example.mathquiz.application.service;
 
 import com.example.mathquiz.application.port.in.QuestionService;
-import com.example.mathquiz.application.port.out.LoadQuestionsPort;
 import com.example.mathquiz.application.port.out.PersistQuestionPort;
+import com.example.mathquiz.domain.ArithmeticQuestionGenerator;
+import com.example.mathquiz.domain.ContentVersion;
 import com.example.mathquiz.domain.Question;
+import com.example.mathquiz.domain.QuestionFilter;
+import com.example.mathquiz.domain.QuestionPage;
+import com.example.mathquiz.domain.QuizOverlap;
 import com.example.mathquiz.domain.exception.QuestionNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import jakarta.annotation.PostConstruct;
-
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+import static java.util.Objects.isNull;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class QuestionServiceImpl implements QuestionService {
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_BATCH_QUESTIONS = 10_000;
+    private static final int MIN_SEARCH_LENGTH = 3;
+    private static final int MAX_SEARCH_LENGTH = 500;
+    private static final int MAX_SEARCH_OFFSET = 10_000;
     private final PersistQuestionPort persistQuestionPort;
-    private final LoadQuestionsPort loadQuestionsPort;
+    private final QuestionPool questionPool;
+    private final QuestionVersions questionVersions;
+    private final AnswerKey answerKey;
+    private final ArithmeticQuestionGenerator questionGenerator;
+    private final SeededQuizzes seededQuizzes;
+    private final QuestionSearchIndex searchIndex;
+    @Value("${mathquiz.questions.random-strategy:pool}")
+    private RandomSelectionStrategy randomSelectionStrategy = RandomSelectionStrategy.POOL;
 
-    @PostConstruct
-    public void init() {
-        // Only load questions if database is empty
-        if (persistQuestionPort.findAll().isEmpty()) {
-            loadQuestionsPort.loadQuestions().forEach(persistQuestionPort::save);
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Question> getRandomQuestions(int count, QuestionFilter filter) {
+        checkSelection(count, filter);
+        if (randomSelectionStrategy == RandomSelectionStrategy.GENERATED) {
+            return questionGenerator.sample(count, ThreadLocalRandom.current(), filter);
+        }
+        if (!usesQuestionPool()) {
+            return persistQuestionPort.findRandom(count);
         }
+        ensurePoolLoaded();
+        return filter.isEmpty() ? questionPool.sample(count) : questionPool.sample(count, filter);
     }
 
     @Override
-    @Transactional(readOnly = true)
-    public List<Question> getRandomQuestions(int count) {
-        if (count < 1) {
-            throw new IllegalArgumentException("Count must be at least 1");
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<Question> getSeededQuestions(int count, long seed, QuestionFilter filter) {
+        checkSelection(count, filter);
+        if (usesQuestionPool()) {
+            ensurePoolLoaded();
+            // Keyed by the version of the snapshot sampled: another caller may still be reloading it
+            QuestionPool.Snapshot snapshot = questionPool.snapshot();
+            return seededQuizzes.get(seed, count, filter, snapshot.version(),
+                    () -> snapshot.sample(count, filter, new SplittableRandom(seed)));
         }
-        List<Question> allQuestions = persistQuestionPort.findAll();
-        if (allQuestions.isEmpty()) {
-            return List.of();
-        }
-        List<Question> mutableList = new ArrayList<>(allQuestions);
-        Collections.shuffle(mutableList);
+        long bankVersion = questionVersions.bank().value();
+        return seededQuizzes.get(seed, count, filter, bankVersion,
+                () -> randomSelectionStrategy == RandomSelectionStrategy.GENERATED
+                        ? questionGenerator.sample(count, new SplittableRandom(seed), filter)
+                        : persistQuestionPort.findRandom(count, seed));
+    }
 
-        return mutableList.subList(0, Math.min(count, mutableList.size()));
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<List<Question>> getRandomQuizzes(int quizzes, int size, QuizOverlap overlap) {
+        if (quizzes < 1 || size < 1) {
+            throw new IllegalArgumentException("Quiz count and size must be at least 1");
+        }
+        if ((long) quizzes * size > MAX_BATCH_QUESTIONS) {
+            throw new IllegalArgumentException(String.format("A batch may hold at most %d questions", MAX_BATCH_QUESTIONS));
+        }
+        if (randomSelectionStrategy == RandomSelectionStrategy.GENERATED) {
+            return QuestionPool.Snapshot.of(questionGenerator.sample(quizzes * size, ThreadLocalRandom.current()))
+                    .quizzes(quizzes, size, overlap);
+        }
+        if (!usesQuestionPool()) {
+            return QuestionPool.Snapshot.of(persistQuestionPort.findRandom(quizzes * size))
+                    .quizzes(quizzes, size, overlap);
+        }
+        ensurePoolLoaded();
+        return questionPool.sampleQuizzes(quizzes, size, overlap);
     }
 
     @Override
     public Question createQuestion(Question question) {
-        return persistQuestionPort.save(question);
+        Question saved = persistQuestionPort.save(question);
+        QuestionVersions.Step step = questionVersions.questionsCreated();
+        afterCommit(() -> {
+            questionPool.put(saved, step);
+            answerKey.put(saved, step);
+            searchIndex.put(saved);
+        });
+        return saved;
+    }
+
+    @Override
+    public List<Question> createQuestions(List<Question> questions) {
+        // Bulk import always creates new rows; ids carried over from an export are ignored
+        questions.forEach(question -> question.setId(null));
+        List<Question> saved = persistQuestionPort.saveAll(questions);
+        QuestionVersions.Step step = questionVersions.questionsCreated();
+        afterCommit(() -> {
+            questionPool.putAll(saved, step);
+            answerKey.putAll(saved, step);
+            searchIndex.putAll(saved);
+        });
+        return saved;
     }
 
     @Override
@@ -65,12 +136,26 @@ public class QuestionServiceImpl implements QuestionService {
             throw new QuestionNotFoundException(String.format("Question with id %s not found.", id));
         }
         question.setId(id);
-        return persistQuestionPort.update(question);
+        Question updated = persistQuestionPort.update(question);
+        // Versions first, so a grader that sees the new answer also sees the question as changed
+        QuestionVersions.Step step = questionVersions.questionChanged(id);
+        afterCommit(() -> {
+            questionPool.put(updated, step);
+            answerKey.put(updated, step);
+            searchIndex.put(updated);
+        });
+        return updated;
     }
 
     @Override
     public void deleteQuestion(Long id) {
         persistQuestionPort.deleteById(id);
+        QuestionVersions.Step step = questionVersions.questionChanged(id);
+        afterCommit(() -> {
+            questionPool.remove(id, step);
+            answerKey.remove(id, step);
+            searchIndex.remove(id);
+        });
     }
 
     @Override
@@ -78,4 +163,89 @@ public class QuestionServiceImpl implements QuestionService {
     public List<Question> getAllQuestions() {
         return persistQuestionPort.findAll();
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public QuestionPage getQuestions(Long after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(String.format("Limit must be between 1 and %d", MAX_PAGE_SIZE));
+        }
+        return persistQuestionPort.findPage(after, limit);
+    }
+
+    // The next cursor is the offset of the following page.
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public QuestionPage searchQuestions(String query, int offset, int limit) {
+        String text = isNull(query) ? "" : query.strip();
+        if (text.length() < MIN_SEARCH_LENGTH || text.length() > MAX_SEARCH_LENGTH) {
+            throw new IllegalArgumentException(String.format("Search text must be between %d and %d characters",
+                    MIN_SEARCH_LENGTH, MAX_SEARCH_LENGTH));
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(String.format("Limit must be between 1 and %d", MAX_PAGE_SIZE));
+        }
+        if (offset < 0 || offset > MAX_SEARCH_OFFSET) {
+            throw new IllegalArgumentException(String.format("Offset must be between 0 and %d", MAX_SEARCH_OFFSET));
+        }
+        if (!searchIndex.isLoaded()) {
+            searchIndex.ensureLoaded(persistQuestionPort::exportAll);
+        }
+        QuestionSearchIndex.Hits hits = searchIndex.search(text, offset, limit);
+        List<Question> questions = hits.ids().isEmpty() ? List.of() : persistQuestionPort.findAllById(hits.ids());
+        long next = (long) offset + limit;
+        return new QuestionPage(questions, next < hits.total() ? next : null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportQuestions(Consumer<Question> sink) {
+        return persistQuestionPort.exportAll(sink);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ContentVersion getBankVersion() {
+        return questionVersions.bank();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ContentVersion getQuestionVersion(Long id) {
+        return questionVersions.question(id);
+    }
+
+    private void checkSelection(int count, QuestionFilter filter) {
+        if (count < 1) {
+            throw new IllegalArgumentException("Count must be at least 1");
+        }
+        if (count > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(String.format("Count must be at most %d", MAX_PAGE_SIZE));
+        }
+        if (randomSelectionStrategy == RandomSelectionStrategy.DATABASE && !filter.isEmpty()) {
+            throw new IllegalArgumentException("Filtered random questions need the pool or generated strategy");
+        }
+    }
+
+    private void ensurePoolLoaded() {
+        questionPool.ensureLoaded(questionVersions.bank().value(), persistQuestionPort::findAll);
+    }
+
+    private boolean usesQuestionPool() {
+        return randomSelectionStrategy == RandomSelectionStrategy.POOL;
+    }
+
+    // Publish only once the write commits, so a rolled back write never reaches quizzes
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
 }
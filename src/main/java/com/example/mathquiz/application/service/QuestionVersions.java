@@ -0,0 +1,187 @@
+package com.example.mathquiz.application.service;
+
+import com.example.mathquiz.application.port.out.QuestionVersionPort;
+import com.example.mathquiz.application.port.out.QuestionVersionPort.BankVersionStep;
+import com.example.mathquiz.application.port.out.QuestionVersionPort.SharedVersions;
+import com.example.mathquiz.domain.ContentVersion;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+// Validators for conditional GETs, stored with the writes so every instance hands out the same ETags.
+// Values are microsecond timestamps bumped to stay strictly increasing, so a version never recurs.
+@Slf4j
+@Component
+public class QuestionVersions {
+    private final QuestionVersionPort versionPort;
+    private final Clock clock;
+    private final Duration refreshInterval;
+    private final ContentVersion startup;
+    private final Map<Long, ContentVersion> changed = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("question-versions").daemon(true).factory());
+    private volatile ContentVersion bank;
+    // Shared by questions never updated or deleted; moves on every create
+    private volatile ContentVersion created;
+    private long synced;
+    private volatile boolean refreshed;
+
+    @Autowired
+    public QuestionVersions(QuestionVersionPort versionPort,
+                            @Value("${mathquiz.questions.version-refresh:1s}") Duration refreshInterval,
+                            @Value("${mathquiz.quiz.token-ttl:2h}") Duration history) {
+        this(versionPort, refreshInterval, history, Clock.systemUTC());
+    }
+
+    QuestionVersions(QuestionVersionPort versionPort, Duration refreshInterval, Duration history, Clock clock) {
+        this.versionPort = versionPort;
+        this.clock = clock;
+        this.refreshInterval = refreshInterval;
+        this.startup = new ContentVersion(clock.millis() * 1_000, now());
+        this.synced = startup.value() - history.toNanos() / 1_000;
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::refreshInBackground, 0, refreshInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public ContentVersion bank() {
+        ensureRefreshed();
+        return bank;
+    }
+
+    public ContentVersion question(Long id) {
+        ensureRefreshed();
+        return changed.getOrDefault(id, created);
+    }
+
+    // Only updates and deletes count: creating other questions does not change what an issued quiz asked
+    public boolean changedAfter(Long id, long since) {
+        ensureRefreshed();
+        ContentVersion version = changed.get(id);
+        return nonNull(version) && version.value() > since;
+    }
+
+    @Transactional
+    public Step questionsCreated() {
+        Step step = next();
+        afterCommit(() -> publish(null, step.next()));
+        return step;
+    }
+
+    @Transactional
+    public Step questionChanged(Long id) {
+        Step step = next();
+        versionPort.saveQuestionChange(id, step.next());
+        afterCommit(() -> publish(id, step.next()));
+        return step;
+    }
+
+    public record Step(long previous, ContentVersion next) {}
+
+    private Step next() {
+        long atLeast = clock.millis() * 1_000;
+        Instant lastModified = now();
+        Optional<BankVersionStep> bumped = versionPort.bumpBankVersion(atLeast, lastModified);
+        if (bumped.isEmpty()) {
+            versionPort.createBankVersion(startup);
+            bumped = versionPort.bumpBankVersion(atLeast, lastModified);
+        }
+        if (bumped.isPresent()) {
+            return new Step(bumped.get().previous(), new ContentVersion(bumped.get().next(), lastModified));
+        }
+        long previous = bank().value();
+        return new Step(previous, new ContentVersion(Math.max(atLeast, previous + 1), lastModified));
+    }
+
+    private synchronized void publish(Long id, ContentVersion version) {
+        if (isNull(bank) || version.value() > bank.value()) {
+            bank = version;
+        }
+        if (isNull(id)) {
+            if (isNull(created) || version.value() > created.value()) {
+                created = version;
+            }
+        } else {
+            changed.merge(id, version, (old, current) -> current.value() > old.value() ? current : old);
+        }
+    }
+
+    private void ensureRefreshed() {
+        if (!refreshed) {
+            refresh();
+        }
+    }
+
+    private void refreshInBackground() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            log.warn("Could not read the shared question versions; retrying in {}", refreshInterval, e);
+        }
+    }
+
+    synchronized void refresh() {
+        Optional<SharedVersions> shared = versionPort.findVersions(synced);
+        if (shared.isEmpty()) {
+            versionPort.createBankVersion(startup);
+            shared = versionPort.findVersions(synced);
+        }
+        if (shared.isPresent()) {
+            ContentVersion sharedBank = shared.get().bank();
+            boolean moved = isNull(created) || sharedBank.value() > synced;
+            shared.get().changed().forEach(this::publish);
+            if (moved) {
+                publish(null, sharedBank);
+            }
+            synced = Math.max(synced, sharedBank.value());
+        } else if (isNull(bank)) {
+            publish(null, startup);
+        }
+        refreshed = true;
+    }
+
+    // Millisecond precision survives every database's timestamp column, so all instances read back the same value
+    private Instant now() {
+        return clock.instant().truncatedTo(ChronoUnit.MILLIS);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.mathquiz.application.service;
+
+import com.example.mathquiz.application.port.in.QuestionService;
+import com.example.mathquiz.application.port.in.QuizService;
+import com.example.mathquiz.application.port.out.PersistQuestionPort;
+import com.example.mathquiz.application.service.QuizTokenCodec.QuizToken;
+import com.example.mathquiz.domain.ArithmeticQuestionGenerator;
+import com.example.mathquiz.domain.Question;
+import com.example.mathquiz.domain.QuestionFilter;
+import com.example.mathquiz.domain.Quiz;
+import com.example.mathquiz.domain.QuizGrade;
+import com.example.mathquiz.domain.QuizGrade.GradedAnswer;
+import com.example.mathquiz.domain.QuizGrade.Outcome;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Objects.isNull;
+
+// Grading works from the signed token and the in-memory answer key only; the database is read to build the key, and
+// again once writes on other instances have moved the shared bank version past it.
+// Generated questions are marked by regenerating them from the index in their id.
+@Service
+@RequiredArgsConstructor
+public class QuizServiceImpl implements QuizService {
+    private final QuestionService questionService;
+    private final PersistQuestionPort persistQuestionPort;
+    private final QuestionVersions questionVersions;
+    private final AnswerKey answerKey;
+    private final QuizTokenCodec quizTokenCodec;
+    private final ArithmeticQuestionGenerator questionGenerator;
+
+    @Override
+    public Quiz startQuiz(int count, QuestionFilter filter) {
+        // Read before the questions, so an edit racing the fetch voids the question instead of grading it wrongly
+        long bankVersion = questionVersions.bank().value();
+        List<Question> questions = questionService.getRandomQuestions(count, filter);
+        List<Long> ids = questions.stream().map(Question::getId).toList();
+        if (ids.stream().anyMatch(id -> !ArithmeticQuestionGenerator.isGenerated(id))) {
+            ensureAnswerKey();
+        }
+        return new Quiz(questions, quizTokenCodec.issue(bankVersion, ids));
+    }
+
+    @Override
+    public QuizGrade grade(String quizToken, List<Integer> answers) {
+        QuizToken quiz = quizTokenCodec.verify(quizToken);
+        long[] questionIds = quiz.questionIds();
+        if (answers.size() != questionIds.length) {
+            throw new IllegalArgumentException(String.format("Expected %d answers but got %d", questionIds.length, answers.size()));
+        }
+        List<GradedAnswer> graded = new ArrayList<>(questionIds.length);
+        int score = 0;
+        int total = 0;
+        for (int i = 0; i < questionIds.length; i++) {
+            long id = questionIds[i];
+            Integer answer = answers.get(i);
+            int correct = ArithmeticQuestionGenerator.isGenerated(id) ? questionGenerator.correctOption(id) : storedAnswer(id);
+            if (correct == AnswerKey.UNKNOWN || questionVersions.changedAfter(id, quiz.bankVersion())) {
+                graded.add(new GradedAnswer(id, answer, null, Outcome.VOIDED));
+                continue;
+            }
+            Outcome outcome = isNull(answer) ? Outcome.UNANSWERED
+                    : answer == correct ? Outcome.CORRECT : Outcome.INCORRECT;
+            graded.add(new GradedAnswer(id, answer, correct, outcome));
+            total++;
+            if (outcome == Outcome.CORRECT) {
+                score++;
+            }
+        }
+        return new QuizGrade(score, total, graded);
+    }
+
+    private int storedAnswer(long id) {
+        ensureAnswerKey();
+        return answerKey.answer(id);
+    }
+
+    private void ensureAnswerKey() {
+        answerKey.ensureLoaded(questionVersions.bank().value(), persistQuestionPort::exportAnswers);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.mathquiz.application.service;
+
+public enum RandomSelectionStrategy {
+    // Sample from the in-memory QuestionPool; no database I/O per quiz
+    POOL,
+    // Pick random ids inside the database and fetch only those rows; for banks too large to keep on-heap
+    DATABASE,
+    // Synthesise every quiz with the arithmetic generator; nothing is stored or read
+    GENERATED
+}
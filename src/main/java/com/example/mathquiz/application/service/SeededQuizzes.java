@@ -0,0 +1,36 @@
+package com.example.mathquiz.application.service;
+
+import com.example.mathquiz.domain.Question;
+import com.example.mathquiz.domain.QuestionFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Seeded quizzes are pure functions of (seed, count, filter, bank version), so each is selected once and then served from here.
+// A write moves the bank version, which retires every entry without an explicit eviction. Entries are weighed by their
+// questions, so anonymous requests for many large quizzes cannot hold more than maximumQuestions between them.
+@Component
+public class SeededQuizzes {
+    private final Cache<Key, List<Question>> quizzes;
+
+    public SeededQuizzes(@Value("${mathquiz.questions.seeded.cache-ttl:1h}") Duration ttl,
+                         @Value("${mathquiz.questions.seeded.cache-questions:100000}") long maximumQuestions) {
+        this.quizzes = Caffeine.newBuilder()
+                .maximumWeight(maximumQuestions)
+                .weigher((Key _, List<Question> quiz) -> Math.max(1, quiz.size()))
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public List<Question> get(long seed, int count, QuestionFilter filter, long bankVersion,
+                              Supplier<List<Question>> selector) {
+        return quizzes.get(new Key(seed, count, filter, bankVersion), _ -> List.copyOf(selector.get()));
+    }
+
+    private record Key(long seed, int count, QuestionFilter filter, long bankVersion) {}
+}
@@ -0,0 +1,165 @@
+package com.example.mathquiz.application.service;
+
+import com.example.mathquiz.domain.Question;
+import com.example.mathquiz.domain.QuestionFilter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+// Inverted index over a pool snapshot: each tag, topic and difficulty maps to the ascending snapshot positions that
+// carry it. A filter is a conjunction of OR clauses; each clause is merged from its postings and the clauses are
+// intersected smallest first, so the work follows the size of the postings involved rather than the bank.
+final class TagIndex {
+    private static final int[] NONE = new int[0];
+    private static final int GALLOP_RATIO = 32;
+    private final Map<String, int[]> postings;
+
+    private TagIndex(Map<String, int[]> postings) {
+        this.postings = postings;
+    }
+
+    static TagIndex of(Question[] questions, int length) {
+        Map<String, Postings> building = new HashMap<>();
+        for (int position = 0; position < length; position++) {
+            Question question = questions[position];
+            if (nonNull(question.getTags())) {
+                for (String tag : question.getTags()) {
+                    add(building, tagKey(tag), position);
+                }
+            }
+            if (nonNull(question.getTopic())) {
+                add(building, topicKey(question.getTopic()), position);
+            }
+            if (nonNull(question.getDifficulty())) {
+                add(building, difficultyKey(question.getDifficulty()), position);
+            }
+        }
+        Map<String, int[]> postings = HashMap.newHashMap(building.size());
+        building.forEach((key, list) -> postings.put(key, list.toArray()));
+        return new TagIndex(postings);
+    }
+
+    // Ascending positions of the questions matching every clause of the filter
+    int[] select(QuestionFilter filter) {
+        List<int[]> clauses = new ArrayList<>();
+        filter.allTags().forEach(tag -> clauses.add(postings(tagKey(tag))));
+        if (!filter.anyTags().isEmpty()) {
+            clauses.add(union(filter.anyTags().stream().map(TagIndex::tagKey).toList()));
+        }
+        if (!filter.topics().isEmpty()) {
+            clauses.add(union(filter.topics().stream().map(TagIndex::topicKey).toList()));
+        }
+        if (!filter.difficulties().isEmpty()) {
+            clauses.add(union(filter.difficulties().stream().map(TagIndex::difficultyKey).toList()));
+        }
+        if (clauses.isEmpty()) {
+            throw new IllegalArgumentException("An empty filter selects the whole pool");
+        }
+        clauses.sort(Comparator.comparingInt(clause -> clause.length));
+        int[] result = clauses.getFirst();
+        for (int i = 1; i < clauses.size() && result.length > 0; i++) {
+            result = intersect(result, clauses.get(i));
+        }
+        return result;
+    }
+
+    private int[] postings(String key) {
+        int[] positions = postings.get(key);
+        return isNull(positions) ? NONE : positions;
+    }
+
+    // Smallest lists first, so each merge copies as little as possible
+    private int[] union(List<String> keys) {
+        List<int[]> lists = new ArrayList<>(keys.size());
+        keys.forEach(key -> lists.add(postings(key)));
+        lists.sort(Comparator.comparingInt(list -> list.length));
+        int[] result = NONE;
+        for (int[] list : lists) {
+            result = result.length == 0 ? list : merge(result, list);
+        }
+        return result;
+    }
+
+    private static int[] merge(int[] a, int[] b) {
+        int[] merged = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                merged[n++] = a[i++];
+            } else if (a[i] > b[j]) {
+                merged[n++] = b[j++];
+            } else {
+                merged[n++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            merged[n++] = a[i++];
+        }
+        while (j < b.length) {
+            merged[n++] = b[j++];
+        }
+        return n == merged.length ? merged : Arrays.copyOf(merged, n);
+    }
+
+    // Linear merge for lists of similar size; when one is much longer, binary search into it from each element
+    // of the shorter one, which costs O(small x log large) instead of O(large)
+    private static int[] intersect(int[] small, int[] large) {
+        int[] common = new int[small.length];
+        int n = 0;
+        if ((long) small.length * GALLOP_RATIO < large.length) {
+            int from = 0;
+            for (int value : small) {
+                int found = Arrays.binarySearch(large, from, large.length, value);
+                if (found >= 0) {
+                    common[n++] = value;
+                    from = found + 1;
+                } else {
+                    from = -found - 1;
+                }
+                if (from == large.length) {
+                    break;
+                }
+            }
+        } else {
+            int i = 0;
+            int j = 0;
+            while (i < small.length && j < large.length) {
+                if (small[i] < large[j]) {
+                    i++;
+                } else if (small[i] > large[j]) {
+                    j++;
+                } else {
+                    common[n++] = small[i++];
+                    j++;
+                }
+            }
+        }
+        return n == common.length ? common : Arrays.copyOf(common, n);
+    }
+
+    private static String tagKey(String tag) {
+        return "tag:" + QuestionFilter.normalise(tag);
+    }
+
+    private static String topicKey(String topic) {
+        return "topic:" + QuestionFilter.normalise(topic);
+    }
+
+    private static String difficultyKey(int difficulty) {
+        return "difficulty:" + difficulty;
+    }
+
+    private static void add(Map<String, Postings> building, String key, int position) {
+        building.computeIfAbsent(key, _ -> new Postings()).add(position);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.mathquiz.config;
+
+import com.example.mathquiz.domain.ArithmeticQuestionGenerator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class QuestionGeneratorConfig {
+
+    // Always present: it costs a small lookup table, and graded quizzes from generated mode need it to be marked
+    @Bean
+    public ArithmeticQuestionGenerator arithmeticQuestionGenerator(
+            @Value("${mathquiz.questions.generator.seed:0}") long seed,
+            @Value("${mathquiz.questions.generator.max-operand:10}") int maxOperand) {
+        return new ArithmeticQuestionGenerator(seed, maxOperand);
+    }
+}
@@ -1,12 +1,16 @@
 package com.example.mathquiz.config;
 
 import com.example.mathquiz.config.security.AuthEntryPointJwt;
+import com.example.mathquiz.config.security.BoundedPasswordEncoder;
 import com.example.mathquiz.config.security.JwtRequestFilter;
 import jakarta.servlet.http.HttpServletRequest;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -35,8 +39,13 @@ public class SecurityConfig {
     private final AuthEntryPointJwt unauthorizedHandler;
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${mathquiz.auth.password-check.threads:0}") int threads,
+                                           @Value("${mathquiz.auth.password-check.queue-capacity:64}") int queueCapacity,
+                                           @Value("${mathquiz.auth.password-check.retry-after-seconds:1}") long retryAfterSeconds,
+                                           MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), poolSize, queueCapacity, retryAfterSeconds,
+                meterRegistry);
     }
 
     @Bean
@@ -51,7 +60,9 @@ public class SecurityConfig {
                 .authorizeHttpRequests(authz -> authz
                         .requestMatchers("/auth/login").permitAll()
                         .requestMatchers("/questions/random").permitAll()
-                        .requestMatchers("/manage/health-check", "/manage/info").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/quizzes/grade").permitAll()
+                        .requestMatchers("/manage/health-check", "/manage/health-check/liveness",
+                                "/manage/health-check/readiness", "/manage/info").permitAll()
                         .requestMatchers("/manage/**").hasRole("ADMIN")
                         .requestMatchers("/questions/**").hasAnyRole("USER", "ADMIN")
                         .anyRequest().authenticated()
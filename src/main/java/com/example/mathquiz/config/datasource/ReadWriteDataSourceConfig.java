@@ -0,0 +1,59 @@
+package com.example.mathquiz.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Replaces the auto-configured pool once replicas are listed; without them the application keeps a single datasource
+@Configuration
+@ConditionalOnExpression("!'${mathquiz.datasource.replicas:}'.isBlank()")
+public class ReadWriteDataSourceConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource dataSource(DataSourceProperties properties, Environment environment,
+                                                 @Value("${mathquiz.datasource.replicas}") List<String> replicaUrls,
+                                                 @Value("${mathquiz.datasource.replica-ejection:30s}") Duration ejection,
+                                                 @Value("${mathquiz.datasource.replica-connection-timeout:1s}") Duration connectionTimeout,
+                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        HikariDataSource primary = pool(properties, environment, properties.determineUrl(), "primary");
+        List<HikariDataSource> replicas = IntStream.range(0, replicaUrls.size())
+                .mapToObj(i -> {
+                    HikariDataSource replica = pool(properties, environment, replicaUrls.get(i).trim(), "replica-" + i);
+                    replica.setReadOnly(true);
+                    // A dead replica should be ejected quickly rather than hold reads for the pool's usual 30s
+                    replica.setConnectionTimeout(connectionTimeout.toMillis());
+                    // Start without a connection, so a replica that is down at boot is ejected instead of failing startup
+                    replica.setInitializationFailTimeout(-1);
+                    // Boot only instruments the pool it can unwrap from the dataSource bean, which is the primary
+                    meterRegistry.ifAvailable(registry ->
+                            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+                    return replica;
+                })
+                .toList();
+        return new ReadWriteRoutingDataSource(primary, replicas, ejection);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Environment environment, String url,
+                                         String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        return pool;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.mathquiz.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+// Writes and anything outside a read-only transaction use the primary. The physical connection is only fetched at
+// the first statement, so one marked read-only before that, as @Transactional(readOnly = true) does, comes from a
+// replica instead.
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+    private final HikariDataSource primary;
+    private final ReplicaDataSource replicas;
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicaPools, Duration ejection) {
+        super(primary);
+        this.primary = primary;
+        this.replicas = new ReplicaDataSource(replicaPools, primary, ejection);
+        setReadOnlyDataSource(replicas);
+    }
+
+    public Map<String, String> replicaStatus() {
+        return replicas.status();
+    }
+
+    @Override
+    public void close() {
+        replicas.close();
+        primary.close();
+    }
+}
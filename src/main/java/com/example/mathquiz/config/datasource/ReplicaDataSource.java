@@ -0,0 +1,94 @@
+package com.example.mathquiz.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Spreads read-only connections round-robin over the replica pools. A replica that fails to hand out a connection
+// sits out for the ejection period; with every replica out, reads fall back to the primary.
+@Slf4j
+class ReplicaDataSource extends AbstractDataSource implements AutoCloseable {
+    private final List<Replica> replicas;
+    private final DataSource fallback;
+    private final Duration ejection;
+    private final AtomicInteger next = new AtomicInteger();
+
+    ReplicaDataSource(List<HikariDataSource> pools, DataSource fallback, Duration ejection) {
+        this.replicas = pools.stream().map(Replica::new).toList();
+        this.fallback = fallback;
+        this.ejection = ejection;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connect(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connect(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    Map<String, String> status() {
+        long now = System.nanoTime();
+        Map<String, String> status = new LinkedHashMap<>();
+        replicas.forEach(replica -> status.put(replica.pool.getPoolName(), replica.isAvailable(now) ? "up" : "ejected"));
+        return status;
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private Connection connect(ConnectionSource source) throws SQLException {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.isAvailable(System.nanoTime())) {
+                continue;
+            }
+            try {
+                return source.open(replica.pool);
+            } catch (SQLException e) {
+                replica.eject(System.nanoTime() + ejection.toNanos());
+                log.warn("Ejecting replica {} for {}: {}", replica.pool.getPoolName(), ejection, e.getMessage());
+            }
+        }
+        return source.open(fallback);
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+
+    private static final class Replica {
+        private final HikariDataSource pool;
+        private volatile boolean ejected;
+        private volatile long readmitAt;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        // Re-admitted lazily: the first request after the ejection period is the health check
+        private boolean isAvailable(long now) {
+            return !ejected || now - readmitAt >= 0;
+        }
+
+        private void eject(long until) {
+            readmitAt = until;
+            ejected = true;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.mathquiz.config.metrics;
+
+import com.example.mathquiz.application.port.in.QuestionService;
+import com.example.mathquiz.application.port.in.QuizService;
+import com.example.mathquiz.application.port.out.PersistQuestionPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.function.SingletonSupplier;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import static java.util.Objects.nonNull;
+
+// Times every call through the question, quiz and persistence ports, tagged by method and exception.
+// Advice is placed ahead of any transaction interceptor, so service timings include connection acquisition and commit.
+@Component
+public class PortTimingPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+    static final Map<Class<?>, String> TIMED_PORTS = Map.of(
+            QuestionService.class, "mathquiz.question.service",
+            QuizService.class, "mathquiz.quiz.service",
+            PersistQuestionPort.class, "mathquiz.question.persistence");
+
+    // Post-processors are created before the registry, so it is only resolved on the first timed call
+    public PortTimingPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.advisor = new DefaultPointcutAdvisor(new PortMethodPointcut(),
+                new TimingInterceptor(SingletonSupplier.of(meterRegistry::getObject)));
+        setBeforeExistingAdvisors(true);
+    }
+
+    private static Map.Entry<Class<?>, String> portOf(Class<?> type) {
+        return TIMED_PORTS.entrySet().stream()
+                .filter(port -> port.getKey().isAssignableFrom(type))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static final class PortMethodPointcut extends StaticMethodMatcherPointcut {
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            Map.Entry<Class<?>, String> port = portOf(targetClass);
+            return nonNull(port)
+                    && nonNull(ReflectionUtils.findMethod(port.getKey(), method.getName(), method.getParameterTypes()));
+        }
+    }
+
+    private static final class TimingInterceptor implements MethodInterceptor {
+        private final Supplier<MeterRegistry> meterRegistry;
+        // Timers for calls that returned normally, built once per method; failures are rare enough to look up
+        private final Map<Method, Timer> successTimers = new ConcurrentHashMap<>();
+
+        private TimingInterceptor(Supplier<MeterRegistry> meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            MeterRegistry registry = meterRegistry.get();
+            Timer.Sample sample = Timer.start(registry);
+            Object result;
+            try {
+                result = invocation.proceed();
+            } catch (Throwable e) {
+                sample.stop(timer(registry, invocation, e.getClass().getSimpleName()));
+                throw e;
+            }
+            sample.stop(successTimers.computeIfAbsent(invocation.getMethod(),
+                    _ -> timer(registry, invocation, "none")));
+            return result;
+        }
+
+        private static Timer timer(MeterRegistry registry, MethodInvocation invocation, String exception) {
+            return Timer.builder(portOf(invocation.getThis().getClass()).getValue())
+                    .tag("method", invocation.getMethod().getName())
+                    .tag("exception", exception)
+                    .register(registry);
+        }
+    }
+}
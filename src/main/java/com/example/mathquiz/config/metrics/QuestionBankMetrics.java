@@ -0,0 +1,45 @@
+package com.example.mathquiz.config.metrics;
+
+import com.example.mathquiz.application.port.out.PersistQuestionPort;
+import com.example.mathquiz.application.service.QuestionPool;
+import com.example.mathquiz.application.service.QuestionVersions;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import static java.util.Objects.isNull;
+
+@Component
+@RequiredArgsConstructor
+public class QuestionBankMetrics implements MeterBinder {
+    private final PersistQuestionPort persistQuestionPort;
+    private final QuestionPool questionPool;
+    private final QuestionVersions questionVersions;
+    private volatile Count count;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("mathquiz.questions.bank.size", this, QuestionBankMetrics::bankSize)
+                .description("Questions stored in the database")
+                .register(registry);
+        Gauge.builder("mathquiz.questions.pool.size", questionPool, QuestionPool::size)
+                .description("Questions held in the in-memory pool; zero until the pool is loaded")
+                .register(registry);
+    }
+
+    // Every create and delete on any instance moves the bank version, so the table is only counted again after one.
+    // The version is read first: a write committing during the count just triggers another count on the next scrape.
+    private long bankSize() {
+        long version = questionVersions.bank().value();
+        Count last = count;
+        if (isNull(last) || last.version() != version) {
+            last = new Count(version, persistQuestionPort.count());
+            count = last;
+        }
+        return last.questions();
+    }
+
+    private record Count(long version, long questions) {}
+}
@@ -4,38 +4,28 @@ import com.example.mathquiz.domain.User;
 import com.example.mathquiz.domain.UserRole;
 import com.example.mathquiz.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-
-import java.util.Collection;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
 
+    // No surrounding transaction: a cache hit must not borrow a connection, and roles are fetched eagerly on a miss
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return userDetailsCache.get(username, this::loadSnapshot);
+    }
+
+    private UserDetailsCache.CachedUser loadSnapshot(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException(String.format("User not found with username: %s", username)));
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .authorities(mapRolesToAuthorities(user.getRoles()))
-                .build();
-    }
-
-    private Collection<GrantedAuthority> mapRolesToAuthorities(Collection<UserRole> roles) {
-        return roles.stream()
-                .map(role -> new SimpleGrantedAuthority(String.format("ROLE_%s", role.getName())))
-                .collect(Collectors.toList());
+        return userDetailsCache.snapshot(user.getUsername(), user.getPassword(),
+                user.getRoles().stream().map(UserRole::getName).toList());
     }
-}
\ No newline at end of file
+}
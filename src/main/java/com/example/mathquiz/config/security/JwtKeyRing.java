@@ -0,0 +1,91 @@
+package com.example.mathquiz.config.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.util.Objects.isNull;
+
+// Immutable set of HMAC keys decoded once at startup: the active key signs, every key verifies during rotation
+@Component
+public class JwtKeyRing {
+    private final String activeKeyId;
+    private final SecretKey activeKey;
+    private final Map<String, SecretKey> keys;
+    private final JwtParser parser;
+
+    public JwtKeyRing(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.key-id:default}") String activeKeyId,
+                      @Value("${jwt.verification-keys:}") List<String> verificationKeys) {
+        this.activeKeyId = activeKeyId;
+        this.activeKey = decode(activeKeyId, secret);
+        Map<String, SecretKey> ring = new HashMap<>();
+        // Retired or upcoming keys as "kid:base64-secret"; base64 never contains ':' so the first one splits
+        for (String entry : verificationKeys) {
+            int separator = entry.indexOf(':');
+            if (separator < 1) {
+                throw new IllegalArgumentException("JWT verification keys must be configured as <kid>:<base64 secret>");
+            }
+            String keyId = entry.substring(0, separator).trim();
+            ring.put(keyId, decode(keyId, entry.substring(separator + 1).trim()));
+        }
+        ring.put(activeKeyId, activeKey);
+        this.keys = Map.copyOf(ring);
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return keyFor(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    // JwtParser is immutable and thread-safe, so one instance serves every request
+    public JwtParser parser() {
+        return parser;
+    }
+
+    public JwtBuilder signer() {
+        return Jwts.builder()
+                .header().keyId(activeKeyId).and()
+                .signWith(activeKey);
+    }
+
+    public String activeKeyId() {
+        return activeKeyId;
+    }
+
+    private SecretKey keyFor(String keyId) {
+        // Tokens issued before key ids were introduced carry no kid and were signed with the active secret
+        if (isNull(keyId)) {
+            return activeKey;
+        }
+        SecretKey key = keys.get(keyId);
+        if (isNull(key)) {
+            throw new JwtException("Unknown JWT key id " + keyId);
+        }
+        return key;
+    }
+
+    private static SecretKey decode(String keyId, String secret) {
+        try {
+            return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Invalid JWT secret key configuration for key id " + keyId, e);
+        }
+    }
+}
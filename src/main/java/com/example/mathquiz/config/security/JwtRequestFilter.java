@@ -1,10 +1,17 @@
 package com.example.mathquiz.config.security;
 
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.security.SecurityException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -23,11 +30,23 @@ import static java.util.Objects.nonNull;
 
 @Component
 @Slf4j
-@RequiredArgsConstructor
 public class JwtRequestFilter extends OncePerRequestFilter {
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
-    private final JwtTokenUtil jwtTokenUtil;
+    private static final String VERIFY_TIMER = "mathquiz.auth.jwt.verify";
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final MeterRegistry meterRegistry;
+    private final Timer verifiedTimer;
+    private final Timer rejectedTimer;
+    // Looked up once rather than through the static holder; per-thread storage is per-request on virtual threads too
+    private SecurityContextHolderStrategy securityContextHolderStrategy = SecurityContextHolder.getContextHolderStrategy();
+
+    public JwtRequestFilter(VerifiedTokenCache verifiedTokenCache, MeterRegistry meterRegistry) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.meterRegistry = meterRegistry;
+        this.verifiedTimer = verifyTimer("verified");
+        this.rejectedTimer = verifyTimer("rejected");
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -39,44 +58,68 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             return;
         }
 
-        String username = null;
         String jwtToken = parseJwtToken(request);
 
-        if (nonNull(jwtToken)) {
+        if (nonNull(jwtToken) && isNull(securityContextHolderStrategy.getContext().getAuthentication())) {
+            // One cache lookup; only a miss parses and verifies the token, and only once
+            UserDetails userDetails;
+            Timer.Sample sample = Timer.start(meterRegistry);
             try {
-                username = jwtTokenUtil.getUsernameFromToken(jwtToken);
+                userDetails = verifiedTokenCache.verify(jwtToken).principal();
+                sample.stop(verifiedTimer);
             } catch (Exception e) {
+                sample.stop(rejectedTimer);
+                Counter.builder("mathquiz.auth.jwt.failures")
+                        .description("Bearer tokens rejected by the JWT filter")
+                        .tag("reason", failureReason(e))
+                        .register(meterRegistry)
+                        .increment();
                 logger.warn("JWT Token has expired or is invalid");
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 return;
             }
-        }
 
-        // Once we get the token validate it.
-        if (nonNull(username) && isNull(SecurityContextHolder.getContext().getAuthentication())) {
-            UserDetails userDetails = jwtTokenUtil.getUserPrincipalFromJwtToken(jwtToken);
-
-            // If token is valid configure Spring Security to manually set authentication.
-            if (jwtTokenUtil.validateJwtToken(jwtToken)) {
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                usernamePasswordAuthenticationToken
-                        .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-
-                // After setting the Authentication in the context, we specify
-                // that the current user is authenticated. So it passes the
-                // Spring Security Configurations successfully.
-                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
-            }
+            UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
+                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            usernamePasswordAuthenticationToken
+                    .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+
+            // After setting the Authentication in the context, we specify
+            // that the current user is authenticated. So it passes the
+            // Spring Security Configurations successfully.
+            // A fresh context is published rather than mutating the current one, which may be shared
+            SecurityContext context = securityContextHolderStrategy.createEmptyContext();
+            context.setAuthentication(usernamePasswordAuthenticationToken);
+            securityContextHolderStrategy.setContext(context);
         }
         chain.doFilter(request, response);
     }
 
+    public void setSecurityContextHolderStrategy(SecurityContextHolderStrategy securityContextHolderStrategy) {
+        this.securityContextHolderStrategy = securityContextHolderStrategy;
+    }
+
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
         return Objects.equals("/auth/login", request.getRequestURI());
     }
 
+    private Timer verifyTimer(String outcome) {
+        return Timer.builder(VERIFY_TIMER)
+                .description("Time spent resolving a bearer token, including a signature check on a cache miss")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static String failureReason(Exception e) {
+        return switch (e) {
+            case ExpiredJwtException _ -> "expired";
+            case SecurityException _ -> "signature";
+            case MalformedJwtException _ -> "malformed";
+            default -> "invalid";
+        };
+    }
+
     private String parseJwtToken(HttpServletRequest request) {
         // JWT Token is in the form "Bearer token". Remove Bearer word and get only the Token
         String authHeader = request.getHeader(AUTHORIZATION_HEADER);
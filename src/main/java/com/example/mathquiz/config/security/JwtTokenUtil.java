@@ -2,9 +2,7 @@ package com.example.mathquiz.config.security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -13,7 +11,6 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.List;
 import java.util.function.Function;
@@ -22,9 +19,9 @@ import java.util.stream.Collectors;
 import static java.util.Objects.isNull;
 
 @Service
+@RequiredArgsConstructor
 public class JwtTokenUtil {
-    @Value("${jwt.secret}")
-    private String secret;
+    private final JwtKeyRing keyRing;
     @Value("${jwt.expiration-ms}")
     private long expirationMs;
 
@@ -48,13 +45,7 @@ public class JwtTokenUtil {
 
     public boolean validateJwtToken(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
-
-            return isTokenExpired(claims);
+            return isTokenExpired(getAllClaimsFromToken(token));
         } catch (JwtException | IllegalArgumentException _) {
             return false;
         }
@@ -63,24 +54,30 @@ public class JwtTokenUtil {
     public String generateToken(Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
 
-        return Jwts.builder()
+        return keyRing.signer()
                 .subject(userDetails.getUsername())
                 .claim("roles", userDetails.getAuthorities().stream()
                         .map(GrantedAuthority::getAuthority)
                         .toList())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expirationMs * 1000))
-                .signWith(getSigningKey())
                 .compact();
     }
 
     public UserDetails getUserPrincipalFromJwtToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return toPrincipal(getAllClaimsFromToken(token));
+    }
+
+    // Verifies the signature and validity window once and returns everything a request needs from the token
+    public VerifiedToken parseToken(String token) {
+        Claims claims = getAllClaimsFromToken(token);
+        if (isNull(claims.getExpiration()) || !isTokenExpired(claims)) {
+            throw new JwtException("JWT token is outside its validity window");
+        }
+        return new VerifiedToken(toPrincipal(claims), claims.getExpiration().toInstant());
+    }
 
+    private UserDetails toPrincipal(Claims claims) {
         List<GrantedAuthority> authorities = ((List<?>) claims.get("roles"))
                 .stream()
                 .map(role -> new SimpleGrantedAuthority((String) role))
@@ -98,11 +95,7 @@ public class JwtTokenUtil {
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return keyRing.parser().parseSignedClaims(token).getPayload();
     }
 
     private Boolean isTokenExpired(String token) {
@@ -117,13 +110,4 @@ public class JwtTokenUtil {
         Date now = new Date();
         return claims.getExpiration().after(now) && claims.getIssuedAt().before(now);
     }
-
-    private SecretKey getSigningKey() {
-        try {
-            byte[] keyBytes = Decoders.BASE64.decode(secret);
-            return Keys.hmacShaKeyFor(keyBytes);
-        } catch (Exception e) {
-            throw new IllegalArgumentException("Invalid JWT secret key configuration", e);
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.example.mathquiz.config.security;
+
+import lombok.Getter;
+
+// Not an AuthenticationException on purpose: the providers must not turn a full queue into "bad credentials"
+@Getter
+public class PasswordCheckRejectedException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public PasswordCheckRejectedException(long retryAfterSeconds) {
+        super("Too many concurrent logins, please retry shortly");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
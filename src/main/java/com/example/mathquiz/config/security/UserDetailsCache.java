@@ -0,0 +1,85 @@
+package com.example.mathquiz.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Keeps a snapshot of each user's credentials and authorities so authentication does not query the users tables
+@Component
+public class UserDetailsCache {
+    private final Cache<String, CachedUser> users;
+    // Users with the same set of roles share the same authority instances
+    private final Map<Set<String>, List<GrantedAuthority>> authoritiesByRoles = new ConcurrentHashMap<>();
+
+    public UserDetailsCache(@Value("${mathquiz.auth.user-cache.ttl:5m}") Duration ttl,
+                            @Value("${mathquiz.auth.user-cache.maximum-size:10000}") long maximumSize) {
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    // A loader that throws is not cached, so unknown usernames always reach the database
+    public UserDetails get(String username, Function<String, CachedUser> loader) {
+        return users.get(username, loader).toUserDetails();
+    }
+
+    public CachedUser snapshot(String username, String password, Collection<String> roleNames) {
+        return new CachedUser(username, password, authoritiesFor(Set.copyOf(roleNames)));
+    }
+
+    public void evict(String username) {
+        users.invalidate(username);
+        // Evict again once the change is visible, otherwise a concurrent login could re-cache the old row
+        afterCommit(() -> users.invalidate(username));
+    }
+
+    public void evictAll() {
+        users.invalidateAll();
+        afterCommit(users::invalidateAll);
+    }
+
+    List<GrantedAuthority> authoritiesFor(Set<String> roleNames) {
+        return authoritiesByRoles.computeIfAbsent(roleNames, names -> names.stream()
+                .sorted()
+                .<GrantedAuthority>map(name -> new SimpleGrantedAuthority(String.format("ROLE_%s", name)))
+                .toList());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    public record CachedUser(String username, String password, List<GrantedAuthority> authorities) {
+        // ProviderManager erases credentials on the instance it is handed, so every caller gets its own copy
+        UserDetails toUserDetails() {
+            return User.withUsername(username)
+                    .password(password)
+                    .authorities(authorities)
+                    .build();
+        }
+    }
+}
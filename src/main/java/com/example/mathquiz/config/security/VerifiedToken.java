@@ -0,0 +1,7 @@
+package com.example.mathquiz.config.security;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+
+public record VerifiedToken(UserDetails principal, Instant expiresAt) {}
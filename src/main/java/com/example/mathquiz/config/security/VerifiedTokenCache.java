@@ -0,0 +1,57 @@
+package com.example.mathquiz.config.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+// Remembers tokens that already passed signature verification until they expire, so repeat requests skip the HMAC
+@Component
+public class VerifiedTokenCache {
+    private final JwtTokenUtil jwtTokenUtil;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+    private final Timer parseTimer;
+
+    public VerifiedTokenCache(JwtTokenUtil jwtTokenUtil,
+                              @Value("${jwt.cache.maximum-size:10000}") long maximumSize,
+                              MeterRegistry meterRegistry) {
+        this.jwtTokenUtil = jwtTokenUtil;
+        this.parseTimer = Timer.builder("mathquiz.auth.jwt.parse")
+                .description("Time spent parsing and verifying the signature of a token that was not cached")
+                .register(meterRegistry);
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.creating((String _, VerifiedToken token) ->
+                        maxZero(Duration.between(Instant.now(), token.expiresAt()))))
+                .build();
+    }
+
+    // Invalid tokens throw from the parser and are never cached
+    public VerifiedToken verify(String token) {
+        return verifiedTokens.get(digest(token), _ -> parseTimer.record(() -> jwtTokenUtil.parseToken(token)));
+    }
+
+    // Keyed by a digest so raw bearer tokens are not kept on the heap
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static Duration maxZero(Duration duration) {
+        return duration.isNegative() ? Duration.ZERO : duration;
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.mathquiz.domain;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.random.RandomGenerator;
+
+// Grade 1 addition and subtraction, synthesised instead of stored. Question i of a seed is a pure function of (seed, i),
+// so any question can be regenerated from its index alone; ids of generated questions are negative and encode it.
+public class ArithmeticQuestionGenerator {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int OPTIONS = 4;
+    // Grade 1 stays within adding and subtracting to 20
+    private static final int MAX_OPERAND = 20;
+    // Kept well below Long.MAX_VALUE so the negative id of every index is distinct
+    private static final long INDEX_SPACE = 1L << 62;
+    private static final int SAMPLE_ATTEMPTS = 8;
+    // A narrow filter rejects most draws; rare ones can still come back short
+    private static final int FILTERED_SAMPLE_ATTEMPTS = 256;
+    private static final int[] RESULT_BOUNDS = {10, 20, 100, 1_000};
+    // Tag sets shared by all questions: cumulative result-under-n tags for each bound, with and without regrouping
+    private static final List<List<Set<String>>> TAGS = tagSets();
+    private final long seed;
+    private final int maxOperand;
+    // Operand and option text built once; the largest option is a + b + 10
+    private final String[] numbers;
+
+    public ArithmeticQuestionGenerator(long seed, int maxOperand) {
+        if (maxOperand < 1 || maxOperand > MAX_OPERAND) {
+            throw new IllegalArgumentException(String.format("Max operand must be between 1 and %d", MAX_OPERAND));
+        }
+        this.seed = seed;
+        this.maxOperand = maxOperand;
+        this.numbers = new String[2 * maxOperand + 11];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = Integer.toString(i);
+        }
+    }
+
+    public static long idOf(long index) {
+        return -index - 1;
+    }
+
+    public static boolean isGenerated(long id) {
+        return id < 0;
+    }
+
+    // Different questions the generator can produce: every a + b, and every a - b that stays non-negative
+    public int distinctQuestions() {
+        int operands = maxOperand + 1;
+        return operands * operands + operands * (operands + 1) / 2;
+    }
+
+    public Question generate(long index) {
+        long bits = mix(seed + (index + 1) * GOLDEN_GAMMA);
+        long more = mix(bits);
+        int a = bounded(bits, maxOperand + 1);
+        int b = bounded(bits >>> 32, maxOperand + 1);
+        boolean subtraction = (more & 1) == 1;
+        if (subtraction && a < b) {
+            int swap = a;
+            a = b;
+            b = swap;
+        }
+        int answer = subtraction ? a - b : a + b;
+        // Distractors are the mistakes a first grader makes: the other operation, off by one or two, off by ten
+        int wrongOperation = subtraction ? a + b : Math.abs(a - b);
+        int[] candidates = {wrongOperation, answer + 1, answer - 1, answer + 2, answer - 2, answer + 10, answer - 10};
+        shuffle(candidates, mix(more));
+        int[] options = {answer, -1, -1, -1};
+        for (int i = 0, filled = 1; filled < OPTIONS; i++) {
+            int candidate = candidates[i];
+            // answer + 1, + 2 and + 10 are always valid and distinct, so three distractors are always found
+            if (candidate >= 0 && !contains(options, filled, candidate)) {
+                options[filled++] = candidate;
+            }
+        }
+        // Ascending like the hand-written bank, which also spreads the correct index over all positions
+        int correctOption = sort(options, answer);
+        String content = "What is " + numbers[a] + (subtraction ? " - " : " + ") + numbers[b] + "?";
+        // Regrouping: carrying into the tens, or borrowing from them
+        boolean regrouping = subtraction ? a % 10 < b % 10 : a % 10 + b % 10 >= 10;
+        int difficulty = regrouping ? 3 : a < 10 && b < 10 ? 1 : 2;
+        return new Question(content, List.of(numbers[options[0]], numbers[options[1]], numbers[options[2]],
+                numbers[options[3]]), correctOption, subtraction ? "subtraction" : "addition", difficulty,
+                TAGS.get(regrouping ? 1 : 0).get(resultBucket(answer)));
+    }
+
+    public int correctOption(long id) {
+        return generate(-id - 1).getCorrectOption();
+    }
+
+    // Random indices, skipping repeats of a question already drawn so a quiz never asks the same sum twice
+    public List<Question> sample(int count, RandomGenerator random) {
+        return sample(count, random, QuestionFilter.NONE);
+    }
+
+    // Rejection sampling: generating a question is cheaper than any index over a space this large
+    public List<Question> sample(int count, RandomGenerator random, QuestionFilter filter) {
+        int target = Math.min(count, distinctQuestions());
+        long attempts = (long) target * (filter.isEmpty() ? SAMPLE_ATTEMPTS : FILTERED_SAMPLE_ATTEMPTS);
+        List<Question> questions = new ArrayList<>(target);
+        Set<String> contents = HashSet.newHashSet(target);
+        for (long attempt = 0; questions.size() < target && attempt < attempts; attempt++) {
+            long index = random.nextLong(INDEX_SPACE);
+            Question question = generate(index);
+            if (filter.matches(question) && contents.add(question.getContent())) {
+                question.setId(idOf(index));
+                questions.add(question);
+            }
+        }
+        return questions;
+    }
+
+    private static int resultBucket(int answer) {
+        int bucket = 0;
+        while (bucket < RESULT_BOUNDS.length && answer >= RESULT_BOUNDS[bucket]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    private static List<List<Set<String>>> tagSets() {
+        List<List<Set<String>>> tags = new ArrayList<>(2);
+        for (boolean regrouping : new boolean[]{false, true}) {
+            List<Set<String>> byBucket = new ArrayList<>(RESULT_BOUNDS.length + 1);
+            for (int bucket = 0; bucket <= RESULT_BOUNDS.length; bucket++) {
+                Set<String> set = new HashSet<>();
+                for (int i = bucket; i < RESULT_BOUNDS.length; i++) {
+                    set.add("result-under-" + RESULT_BOUNDS[i]);
+                }
+                if (regrouping) {
+                    set.add("regrouping");
+                }
+                byBucket.add(Set.copyOf(set));
+            }
+            tags.add(List.copyOf(byBucket));
+        }
+        return List.copyOf(tags);
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Fisher-Yates driven by one byte of the hash per swap
+    private static void shuffle(int[] values, long bits) {
+        for (int i = values.length - 1; i > 0; i--, bits >>>= 8) {
+            int j = (int) (((bits & 0xFF) * (i + 1)) >>> 8);
+            int swap = values[i];
+            values[i] = values[j];
+            values[j] = swap;
+        }
+    }
+
+    // Insertion sort of the four options; returns where the answer ended up
+    private static int sort(int[] options, int answer) {
+        for (int i = 1; i < options.length; i++) {
+            int value = options[i];
+            int j = i - 1;
+            while (j >= 0 && options[j] > value) {
+                options[j + 1] = options[j];
+                j--;
+            }
+            options[j + 1] = value;
+        }
+        int position = 0;
+        while (options[position] != answer) {
+            position++;
+        }
+        return position;
+    }
+
+    // Lemire's multiply-shift on the low 32 bits
+    private static int bounded(long bits, int bound) {
+        return (int) (((bits & 0xFFFFFFFFL) * bound) >>> 32);
+    }
+
+    // SplitMix64 finaliser
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
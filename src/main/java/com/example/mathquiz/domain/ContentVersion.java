@@ -0,0 +1,5 @@
+package com.example.mathquiz.domain;
+
+import java.time.Instant;
+
+public record ContentVersion(long value, Instant lastModified) {}
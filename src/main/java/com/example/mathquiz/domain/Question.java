@@ -1,13 +1,16 @@
 package com.example.mathquiz.domain;
 
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Set;
 
 @Data
 @NoArgsConstructor
@@ -24,9 +27,26 @@ public class    Question {
     @Min(value = 0, message = "Correct option must be a positive number")
     private Integer correctOption;
 
+    @Size(max = 100, message = "Topic must be at most 100 characters")
+    private String topic;
+
+    @Min(value = 1, message = "Difficulty must be between 1 and 5")
+    @Max(value = 5, message = "Difficulty must be between 1 and 5")
+    private Integer difficulty;
+
+    private Set<@Size(max = 50, message = "Tags must be at most 50 characters") String> tags;
+
     public Question(String content, List<String> options, int correctOption) {
         this.content = content;
         this.options = options;
         this.correctOption = correctOption;
     }
+
+    public Question(String content, List<String> options, int correctOption, String topic, Integer difficulty,
+                    Set<String> tags) {
+        this(content, options, correctOption);
+        this.topic = topic;
+        this.difficulty = difficulty;
+        this.tags = tags;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.example.mathquiz.domain;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+// Which questions a random selection may draw from: every one of allTags, at least one of anyTags, one of the topics
+// and one of the difficulties. An empty part does not constrain; tags and topics match case-insensitively.
+public record QuestionFilter(Set<String> allTags, Set<String> anyTags, Set<String> topics, Set<Integer> difficulties) {
+    public static final QuestionFilter NONE = new QuestionFilter(Set.of(), Set.of(), Set.of(), Set.of());
+
+    public QuestionFilter {
+        allTags = normalise(allTags);
+        anyTags = normalise(anyTags);
+        topics = normalise(topics);
+        difficulties = isNull(difficulties) ? Set.of() : Set.copyOf(difficulties);
+    }
+
+    public boolean isEmpty() {
+        return allTags.isEmpty() && anyTags.isEmpty() && topics.isEmpty() && difficulties.isEmpty();
+    }
+
+    public boolean matches(Question question) {
+        Set<String> tags = isNull(question.getTags()) ? Set.of() : question.getTags();
+        return allTags.stream().allMatch(tag -> contains(tags, tag))
+                && (anyTags.isEmpty() || anyTags.stream().anyMatch(tag -> contains(tags, tag)))
+                && (topics.isEmpty() || nonNull(question.getTopic()) && topics.contains(normalise(question.getTopic())))
+                && (difficulties.isEmpty() || difficulties.contains(question.getDifficulty()));
+    }
+
+    public static String normalise(String value) {
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    // Exact hit first: stored tags are normally lower case already
+    private static boolean contains(Set<String> tags, String tag) {
+        return tags.contains(tag) || tags.stream().anyMatch(candidate -> normalise(candidate).equals(tag));
+    }
+
+    private static Set<String> normalise(Set<String> values) {
+        if (isNull(values)) {
+            return Set.of();
+        }
+        return values.stream()
+                .filter(value -> nonNull(value) && !value.isBlank())
+                .map(QuestionFilter::normalise)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+}
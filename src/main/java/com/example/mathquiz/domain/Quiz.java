@@ -0,0 +1,5 @@
+package com.example.mathquiz.domain;
+
+import java.util.List;
+
+public record Quiz(List<Question> questions, String token) {}
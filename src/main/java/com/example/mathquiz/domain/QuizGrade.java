@@ -0,0 +1,10 @@
+package com.example.mathquiz.domain;
+
+import java.util.List;
+
+public record QuizGrade(int score, int total, List<GradedAnswer> answers) {
+    // Voided questions were changed or deleted after the quiz was issued; they count towards neither score nor total
+    public enum Outcome { CORRECT, INCORRECT, UNANSWERED, VOIDED }
+
+    public record GradedAnswer(Long questionId, Integer answer, Integer correctOption, Outcome outcome) {}
+}
@@ -0,0 +1,11 @@
+package com.example.mathquiz.domain;
+
+// How questions may repeat across the quizzes of one batch; questions never repeat within a quiz
+public enum QuizOverlap {
+    // Each quiz is drawn on its own, so two quizzes may share any number of questions
+    INDEPENDENT,
+    // No question appears in more than one quiz; rejected when the bank holds fewer than quizzes x size questions
+    DISTINCT,
+    // Dealt from successive shuffles of the bank, so each question is used at most ceil(quizzes x size / bank) times
+    MINIMISE
+}
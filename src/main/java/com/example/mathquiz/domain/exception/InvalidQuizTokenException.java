@@ -0,0 +1,7 @@
+package com.example.mathquiz.domain.exception;
+
+public class InvalidQuizTokenException extends IllegalArgumentException {
+    public InvalidQuizTokenException(String message) {
+        super(message);
+    }
+}
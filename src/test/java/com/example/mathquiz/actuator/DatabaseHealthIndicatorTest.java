@@ -0,0 +1,97 @@
+package com.example.mathquiz.actuator;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseHealthIndicatorTest {
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private Statement statement;
+    private DatabaseHealthIndicator healthIndicator;
+
+    @BeforeEach
+    void setUp() {
+        healthIndicator = new DatabaseHealthIndicator(dataSource, "SELECT 1", Duration.ofSeconds(10),
+                Duration.ofMillis(200));
+    }
+
+    @AfterEach
+    void tearDown() {
+        healthIndicator.stop();
+    }
+
+    @Test
+    void health_beforeFirstProbe_shouldBeUnknownWithoutTouchingDatabase() {
+        // When
+        Health health = healthIndicator.health();
+        // Then
+        assertThat(health.getStatus()).isEqualTo(Status.UNKNOWN);
+        verifyNoInteractions(dataSource);
+    }
+
+    @Test
+    void health_afterSuccessfulProbe_shouldBeUpFromCachedResult() throws Exception {
+        // Given
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        healthIndicator.probe();
+        // When
+        Health first = healthIndicator.health();
+        Health second = healthIndicator.health();
+        // Then
+        assertThat(first.getStatus()).isEqualTo(Status.UP);
+        assertThat(first.getDetails()).containsKeys("checkedAt", "latencyMs");
+        assertThat(second.getStatus()).isEqualTo(Status.UP);
+        verify(statement).setQueryTimeout(1);
+        verify(statement, times(1)).execute("SELECT 1");
+        verify(connection).close();
+    }
+
+    @Test
+    void health_afterFailedProbe_shouldBeDownWithError() throws Exception {
+        // Given
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+        // When
+        healthIndicator.probe();
+        // Then
+        Health health = healthIndicator.health();
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat(health.getDetails()).containsEntry("error", "Connection refused");
+    }
+
+    @Test
+    void probe_withHungConnection_shouldGiveUpAfterTimeout() throws Exception {
+        // Given
+        when(dataSource.getConnection()).thenAnswer(_ -> {
+            Thread.sleep(5_000);
+            return connection;
+        });
+        // When
+        long start = System.nanoTime();
+        healthIndicator.probe();
+        // Then
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        Health health = healthIndicator.health();
+        assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+        assertThat((String) health.getDetails().get("error")).contains("200 ms");
+    }
+}
@@ -2,6 +2,7 @@ package com.example.mathquiz.adapter.in.web;
 
 import com.example.mathquiz.adapter.in.web.exception.ErrorResponse;
 import com.example.mathquiz.adapter.in.web.exception.UnauthorizedException;
+import com.example.mathquiz.config.security.PasswordCheckRejectedException;
 import com.example.mathquiz.domain.exception.QuestionNotFoundException;
 import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -117,6 +119,18 @@ class GlobalExceptionHandlerTest {
                 .containsEntry("message", "Invalid argument");
     }
 
+    @Test
+    void handlePasswordCheckRejectedException_ReturnsTooManyRequestsWithRetryAfter() {
+        // Given
+        PasswordCheckRejectedException ex = new PasswordCheckRejectedException(2);
+        // When
+        ResponseEntity<Map<String, String>> response = exceptionHandler.handlePasswordCheckRejectedException(ex);
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(response.getBody()).containsEntry("error", "Too many requests");
+    }
+
     @Test
     void handleUnauthorizedException_ReturnsUnauthorizedErrorResponse() {
         // Given
@@ -1,8 +1,13 @@
 package com.example.mathquiz.adapter.in.web;
 
 import com.example.mathquiz.application.port.in.QuestionService;
+import com.example.mathquiz.application.port.in.QuizService;
 import com.example.mathquiz.config.TestSecurityConfig;
+import com.example.mathquiz.domain.ContentVersion;
 import com.example.mathquiz.domain.Question;
+import com.example.mathquiz.domain.QuestionFilter;
+import com.example.mathquiz.domain.QuestionPage;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -12,6 +17,7 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +36,8 @@ class QuestionControllerTempTest {
     private MockMvc mockMvc;
     @MockitoBean
     private QuestionService questionService;
+    @MockitoBean
+    private QuizService quizService;
 
     private final Question sampleQuestion = new Question("What is 2 + 2?", List.of("3", "4", "5", "6"), 1);
     private final String questionJson = """
@@ -41,16 +49,23 @@ class QuestionControllerTempTest {
             }
         """;
 
+    @BeforeEach
+    void setUp() {
+        ContentVersion version = new ContentVersion(1L, Instant.parse("2025-01-01T00:00:00Z"));
+        given(questionService.getBankVersion()).willReturn(version);
+        given(questionService.getQuestionVersion(any())).willReturn(version);
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void getRandomQuestions_shouldReturnValidResponse() throws Exception {
-        given(questionService.getRandomQuestions(5)).willReturn(List.of(sampleQuestion));
+        given(questionService.getRandomQuestions(5, QuestionFilter.NONE)).willReturn(List.of(sampleQuestion));
         mockMvc.perform(get("/questions/random?count=5"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.questions[0].content").value("What is 2 + 2?"))
                 .andExpect(jsonPath("$.questions[0].correctOption").value(1));
 
-        verify(questionService).getRandomQuestions(5);
+        verify(questionService).getRandomQuestions(5, QuestionFilter.NONE);
     }
 
     @Test
@@ -123,12 +138,12 @@ class QuestionControllerTempTest {
     @Test
     @WithMockUser(roles = "USER")
     void getAllQuestions_shouldReturnAllQuestions() throws Exception {
-        given(questionService.getAllQuestions()).willReturn(List.of(sampleQuestion));
+        given(questionService.getQuestions(null, 50)).willReturn(new QuestionPage(List.of(sampleQuestion), null));
         mockMvc.perform(get("/questions"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[0].questions[0].content").value("What is 2 + 2?"))
                 .andExpect(jsonPath("$[0].questions[0].correctOption").value(1));
 
-        verify(questionService).getAllQuestions();
+        verify(questionService).getQuestions(null, 50);
     }
 }
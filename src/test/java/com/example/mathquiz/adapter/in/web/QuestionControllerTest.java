@@ -1,22 +1,42 @@
 package com.example.mathquiz.adapter.in.web;
 
 import com.example.mathquiz.application.port.in.QuestionService;
+import com.example.mathquiz.application.port.in.QuizService;
 import com.example.mathquiz.config.TestSecurityConfig;
+import com.example.mathquiz.domain.ContentVersion;
 import com.example.mathquiz.domain.Question;
+import com.example.mathquiz.domain.QuestionFilter;
+import com.example.mathquiz.domain.QuestionPage;
+import com.example.mathquiz.domain.Quiz;
+import com.example.mathquiz.domain.QuizOverlap;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.longThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -26,12 +46,21 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @WebMvcTest(QuestionController.class)
 @Import(TestSecurityConfig.class)
 class QuestionControllerTest {
+    private static final ContentVersion VERSION = new ContentVersion(42L, Instant.parse("2025-01-01T00:00:00Z"));
     @Autowired
     private MockMvc mockMvc;
     @MockitoBean
     private QuestionService questionService;
+    @MockitoBean
+    private QuizService quizService;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    @BeforeEach
+    void setUp() {
+        when(questionService.getBankVersion()).thenReturn(VERSION);
+        when(questionService.getQuestionVersion(any())).thenReturn(VERSION);
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void getRandomQuestions_shouldReturnRandomQuestions() throws Exception {
@@ -40,7 +69,7 @@ class QuestionControllerTest {
                 new Question("What is 2 + 2?", List.of("3", "4", "5", "6"), 1),
                 new Question("What is 5 - 3?", List.of("1", "2", "3", "4"), 1)
         );
-        when(questionService.getRandomQuestions(5)).thenReturn(questions);
+        when(questionService.getRandomQuestions(5, QuestionFilter.NONE)).thenReturn(questions);
         // When/Then
         mockMvc.perform(get("/questions/random?count=5")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -49,40 +78,262 @@ class QuestionControllerTest {
                 .andExpect(jsonPath("$.questions[0].content").value("What is 2 + 2?"))
                 .andExpect(jsonPath("$.questions[1].content").value("What is 5 - 3?"));
 
-        verify(questionService).getRandomQuestions(5);
+        verify(questionService).getRandomQuestions(5, QuestionFilter.NONE);
     }
 
     @Test
     @WithMockUser(roles = "USER")
     void getRandomQuestions_withDefaultCount_shouldUseDefaultValue() throws Exception {
         // Given
-        when(questionService.getRandomQuestions(5)).thenReturn(List.of());
+        when(questionService.getRandomQuestions(5, QuestionFilter.NONE)).thenReturn(List.of());
         // When/Then
         mockMvc.perform(get("/questions/random")).andExpect(status().isOk());
 
-        verify(questionService).getRandomQuestions(5);
+        verify(questionService).getRandomQuestions(5, QuestionFilter.NONE);
     }
 
     @Test
     @WithMockUser(roles = "USER")
     void getRandomQuestions_withNegativeCount_shouldThrowException() throws Exception {
         // Given
-        when(questionService.getRandomQuestions(-1)).thenThrow(new IllegalArgumentException());
+        when(questionService.getRandomQuestions(-1, QuestionFilter.NONE)).thenThrow(new IllegalArgumentException());
         // When/Then
         mockMvc.perform(get("/questions/random?count=-1")).andExpect(status().isBadRequest());
 
-        verify(questionService).getRandomQuestions(-1);
+        verify(questionService).getRandomQuestions(-1, QuestionFilter.NONE);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getRandomQuestions_withFilterParameters_shouldPassTheFilter() throws Exception {
+        // Given
+        QuestionFilter filter = new QuestionFilter(Set.of("result-under-10", "regrouping"), Set.of("grade-1", "grade-2"),
+                Set.of("subtraction"), Set.of(1, 2));
+        when(questionService.getRandomQuestions(10, filter)).thenReturn(List.of());
+        // When/Then
+        mockMvc.perform(get("/questions/random?count=10&tag=result-under-10&tag=regrouping&anyTag=grade-1,grade-2"
+                        + "&topic=Subtraction&difficulty=1&difficulty=2"))
+                .andExpect(status().isOk());
+
+        verify(questionService).getRandomQuestions(10, filter);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getRandomQuestions_withSeed_shouldBeCacheableAndRevalidate() throws Exception {
+        // Given
+        when(questionService.getSeededQuestions(3, 11L, QuestionFilter.NONE))
+                .thenReturn(List.of(new Question("Q", List.of("A", "B"), 0)));
+        // When/Then
+        mockMvc.perform(get("/questions/random?count=3&seed=11"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=300, public"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"42-11-3-e1781\""))
+                .andExpect(jsonPath("$.questions.length()").value(1));
+        mockMvc.perform(get("/questions/random?count=3&seed=11").header(HttpHeaders.IF_NONE_MATCH, "\"42-11-3-e1781\""))
+                .andExpect(status().isNotModified());
+        // Another filter selects other questions, so it must not revalidate against this quiz
+        mockMvc.perform(get("/questions/random?count=3&seed=11&topic=addition")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"42-11-3-e1781\""))
+                .andExpect(status().isOk());
+
+        verify(questionService, times(1)).getSeededQuestions(3, 11L, QuestionFilter.NONE);
+        verify(questionService, never()).getRandomQuestions(anyInt(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getRandomQuestions_daily_shouldSeedWithTodayAndExpireByMidnight() throws Exception {
+        // Given
+        long today = LocalDate.now(ZoneOffset.UTC).toEpochDay();
+        when(questionService.getSeededQuestions(anyInt(), anyLong(), any())).thenReturn(List.of());
+        // When
+        MvcResult result = mockMvc.perform(get("/questions/random?daily=true"))
+                .andExpect(status().isOk())
+                .andReturn();
+        // Then
+        String cacheControl = result.getResponse().getHeader(HttpHeaders.CACHE_CONTROL);
+        assertThat(cacheControl).startsWith("max-age=").endsWith(", public");
+        assertThat(Long.parseLong(cacheControl.replaceAll("\\D", ""))).isBetween(0L, 300L);
+        verify(questionService).getSeededQuestions(eq(5), longThat(seed -> seed == today || seed == today + 1),
+                eq(QuestionFilter.NONE));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getRandomQuestions_graded_shouldHideAnswersAndReturnToken() throws Exception {
+        // Given
+        Question question = new Question("What is 2 + 2?", List.of("3", "4"), 1);
+        question.setId(7L);
+        when(quizService.startQuiz(3, QuestionFilter.NONE)).thenReturn(new Quiz(List.of(question), "signed"));
+        // When/Then
+        mockMvc.perform(get("/questions/random?count=3&graded=true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quizToken").value("signed"))
+                .andExpect(jsonPath("$.questions[0].id").value(7))
+                .andExpect(jsonPath("$.questions[0].options.length()").value(2))
+                .andExpect(jsonPath("$.questions[0].correctOption").doesNotExist())
+                .andExpect(jsonPath("$.summary.totalQuestions").value(1));
+
+        verify(questionService, never()).getRandomQuestions(anyInt(), any());
     }
 
     @Test
     @WithMockUser(roles = "USER")
     void getAllQuestions_shouldUseDefaultValue() throws Exception {
         // Given
-        when(questionService.getAllQuestions()).thenReturn(List.of());
+        when(questionService.getQuestions(null, 50)).thenReturn(new QuestionPage(List.of(), null));
+        // When/Then
+        mockMvc.perform(get("/questions"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].summary.nextCursor").doesNotExist());
+
+        verify(questionService).getQuestions(null, 50);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void searchQuestions_shouldReturnRankedPageAndNextOffset() throws Exception {
+        // Given
+        Question question = new Question("What is 12 + 5?", List.of("17", "18"), 0);
+        question.setId(4L);
+        when(questionService.searchQuestions("12 + 5", 20, 10)).thenReturn(new QuestionPage(List.of(question), 30L));
+        // When/Then
+        mockMvc.perform(get("/questions/search").param("q", "12 + 5").param("offset", "20").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.questions[0].id").value(4L))
+                .andExpect(jsonPath("$.summary.nextCursor").value(30L));
+
+        verify(questionService).searchQuestions("12 + 5", 20, 10);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllQuestions_withCursor_shouldReturnPageAndNextCursor() throws Exception {
+        // Given
+        Question question = new Question("Test question", List.of("A", "B", "C", "D"), 0);
+        question.setId(11L);
+        when(questionService.getQuestions(10L, 1)).thenReturn(new QuestionPage(List.of(question), 11L));
+        // When/Then
+        mockMvc.perform(get("/questions?after=10&limit=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].questions[0].id").value(11L))
+                .andExpect(jsonPath("$[0].summary.totalQuestions").value(1))
+                .andExpect(jsonPath("$[0].summary.nextCursor").value(11L));
+
+        verify(questionService).getQuestions(10L, 1);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllQuestions_shouldTagPageWithBankVersion() throws Exception {
+        // Given
+        when(questionService.getQuestions(null, 50)).thenReturn(new QuestionPage(List.of(), null));
+        // When/Then
+        mockMvc.perform(get("/questions"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"42\""))
+                .andExpect(header().dateValue(HttpHeaders.LAST_MODIFIED, VERSION.lastModified().toEpochMilli()))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, must-revalidate"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllQuestions_withMatchingIfNoneMatch_shouldReturnNotModifiedWithoutQuerying() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/questions?after=10&limit=1").header(HttpHeaders.IF_NONE_MATCH, "\"41\", \"42\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"42\""))
+                .andExpect(content().string(""));
+
+        verify(questionService, never()).getQuestions(any(), anyInt());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllQuestions_withStaleIfNoneMatch_shouldReturnPage() throws Exception {
+        // Given
+        when(questionService.getQuestions(null, 50)).thenReturn(new QuestionPage(List.of(), null));
+        // When/Then
+        mockMvc.perform(get("/questions").header(HttpHeaders.IF_NONE_MATCH, "\"41\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"42\""));
+
+        verify(questionService).getQuestions(null, 50);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void exportQuestions_shouldStreamNdjson() throws Exception {
+        // Given
+        Question first = new Question("What is 2 + 2?", List.of("3", "4"), 1);
+        first.setId(1L);
+        Question second = new Question("What is 5 - 3?", List.of("1", "2"), 1);
+        second.setId(2L);
+        when(questionService.exportQuestions(any())).thenAnswer(invocation -> {
+            Consumer<Question> sink = invocation.getArgument(0);
+            sink.accept(first);
+            sink.accept(second);
+            return 2L;
+        });
+        // When
+        MvcResult result = mockMvc.perform(get("/questions/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(first) + "\n"
+                        + objectMapper.writeValueAsString(second) + "\n"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getRandomQuizzes_shouldReturnOneResponsePerQuiz() throws Exception {
+        // Given
+        Question first = new Question("What is 2 + 2?", List.of("3", "4"), 1);
+        Question second = new Question("What is 5 - 3?", List.of("1", "2"), 1);
+        when(questionService.getRandomQuizzes(2, 1, QuizOverlap.DISTINCT))
+                .thenReturn(List.of(List.of(first), List.of(second)));
         // When/Then
-        mockMvc.perform(get("/questions")).andExpect(status().isOk());
+        mockMvc.perform(post("/questions/random/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quizzes\":2,\"size\":1,\"overlap\":\"DISTINCT\"}")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.overlap").value("DISTINCT"))
+                .andExpect(jsonPath("$.quizzes.length()").value(2))
+                .andExpect(jsonPath("$.quizzes[0].questions[0].content").value("What is 2 + 2?"))
+                .andExpect(jsonPath("$.quizzes[1].summary.totalQuestions").value(1));
+    }
 
-        verify(questionService).getAllQuestions();
+    @Test
+    @WithMockUser(roles = "USER")
+    void getRandomQuizzes_withoutOverlap_shouldDrawIndependently() throws Exception {
+        // Given
+        when(questionService.getRandomQuizzes(3, 5, QuizOverlap.INDEPENDENT)).thenReturn(List.of());
+        // When/Then
+        mockMvc.perform(post("/questions/random/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quizzes\":3,\"size\":5}")
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.overlap").value("INDEPENDENT"));
+
+        verify(questionService).getRandomQuizzes(3, 5, QuizOverlap.INDEPENDENT);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getRandomQuizzes_withMissingSize_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/questions/random/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quizzes\":3}")
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+
+        verify(questionService, never()).getRandomQuizzes(anyInt(), anyInt(), any());
     }
 
     @Test
@@ -107,6 +358,83 @@ class QuestionControllerTest {
         verify(questionService).createQuestion(any(Question.class));
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importQuestions_withNdjson_shouldCommitEachChunkAndSkipInvalidQuestions() throws Exception {
+        // Given
+        Question first = new Question("What is 1 + 1?", List.of("1", "2"), 1);
+        Question invalid = new Question("", List.of("1", "2"), 1);
+        Question third = new Question("What is 3 + 1?", List.of("4", "5"), 0);
+        String body = objectMapper.writeValueAsString(first) + "\n"
+                + objectMapper.writeValueAsString(invalid) + "\n"
+                + objectMapper.writeValueAsString(third) + "\n";
+        when(questionService.createQuestions(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        // When/Then
+        mockMvc.perform(post("/questions/bulk?chunkSize=2")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body)
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(3))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.chunks.length()").value(2))
+                .andExpect(jsonPath("$.chunks[0].error").value("Question 2: Content is required"))
+                .andExpect(jsonPath("$.chunks[1].error").doesNotExist());
+
+        verify(questionService, times(2)).createQuestions(anyList());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importQuestions_withJsonArray_shouldImportAllQuestions() throws Exception {
+        // Given
+        List<Question> questions = List.of(
+                new Question("What is 2 + 2?", List.of("3", "4"), 1),
+                new Question("What is 5 - 3?", List.of("1", "2"), 1));
+        when(questionService.createQuestions(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        // When/Then
+        mockMvc.perform(post("/questions/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(questions))
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.chunks.length()").value(1));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importQuestions_withMalformedInput_shouldKeepCommittedChunksAndReportError() throws Exception {
+        // Given
+        String body = objectMapper.writeValueAsString(new Question("What is 2 + 2?", List.of("3", "4"), 1))
+                + "\n{\"content\": ";
+        when(questionService.createQuestions(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        // When/Then
+        mockMvc.perform(post("/questions/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body)
+                        .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.chunks[0].error").value(startsWith("Malformed input")));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void importQuestions_withInvalidChunkSize_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/questions/bulk?chunkSize=0")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("")
+                        .with(csrf()))
+                .andExpect(status().isBadRequest());
+
+        verify(questionService, never()).createQuestions(anyList());
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void getQuestion_shouldReturnQuestionWhenExists() throws Exception {
@@ -136,6 +464,28 @@ class QuestionControllerTest {
         verify(questionService).getQuestion(1L);
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void getQuestion_withMatchingIfNoneMatch_shouldReturnNotModifiedWithoutLoading() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/questions/1").header(HttpHeaders.IF_NONE_MATCH, "\"42\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"42\""));
+
+        verify(questionService).getQuestionVersion(1L);
+        verify(questionService, never()).getQuestion(any());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getQuestion_withUnchangedIfModifiedSince_shouldReturnNotModified() throws Exception {
+        // When/Then
+        mockMvc.perform(get("/questions/1").header(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 01 Jan 2025 00:00:00 GMT"))
+                .andExpect(status().isNotModified());
+
+        verify(questionService, never()).getQuestion(any());
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void updateQuestion_shouldUpdateExistingQuestion() throws Exception {
@@ -0,0 +1,80 @@
+package com.example.mathquiz.adapter.in.web;
+
+import com.example.mathquiz.application.port.in.QuizService;
+import com.example.mathquiz.config.TestSecurityConfig;
+import com.example.mathquiz.domain.QuizGrade;
+import com.example.mathquiz.domain.QuizGrade.GradedAnswer;
+import com.example.mathquiz.domain.QuizGrade.Outcome;
+import com.example.mathquiz.domain.exception.InvalidQuizTokenException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(QuizController.class)
+@Import(TestSecurityConfig.class)
+class QuizControllerTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @MockitoBean
+    private QuizService quizService;
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void grade_shouldReturnScoreAndOutcomes() throws Exception {
+        // Given
+        QuizGrade grade = new QuizGrade(1, 2, List.of(
+                new GradedAnswer(1L, 0, 0, Outcome.CORRECT),
+                new GradedAnswer(2L, null, 1, Outcome.UNANSWERED)));
+        when(quizService.grade("token", Arrays.asList(0, null))).thenReturn(grade);
+        // When/Then
+        mockMvc.perform(post("/quizzes/grade")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quizToken\": \"token\", \"answers\": [0, null]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.score").value(1))
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.answers[1].outcome").value("UNANSWERED"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void grade_withInvalidToken_shouldReturnBadRequest() throws Exception {
+        // Given
+        when(quizService.grade(eq("forged"), any())).thenThrow(new InvalidQuizTokenException("Quiz token signature is invalid"));
+        // When/Then
+        mockMvc.perform(post("/quizzes/grade")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"quizToken\": \"forged\", \"answers\": [1]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Quiz token signature is invalid"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void grade_withoutToken_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/quizzes/grade")
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"answers\": [1]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(quizService);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.mathquiz.adapter.in.web;
+
+import com.example.mathquiz.config.security.JwtTokenUtil;
+import com.example.mathquiz.config.security.PasswordCheckRejectedException;
+import com.example.mathquiz.domain.AuthRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserAuthenticationControllerTest {
+    @Mock
+    private AuthenticationManager authenticationManager;
+    @Mock
+    private JwtTokenUtil jwtTokenUtil;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserAuthenticationController controller;
+    private final AuthRequest request = new AuthRequest("user", "password");
+
+    @BeforeEach
+    void setUp() {
+        controller = new UserAuthenticationController(authenticationManager, jwtTokenUtil, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void login_shouldCountSuccess() {
+        // Given
+        Authentication authentication = new UsernamePasswordAuthenticationToken("user", null, List.of());
+        when(authenticationManager.authenticate(any())).thenReturn(authentication);
+        when(jwtTokenUtil.generateToken(authentication)).thenReturn("jwt");
+        // When
+        controller.authenticateUser(request);
+        // Then
+        assertThat(loginCount("success")).isEqualTo(1);
+    }
+
+    @Test
+    void login_shouldCountFailuresByOutcomeAndRethrow() {
+        // Given
+        when(authenticationManager.authenticate(any()))
+                .thenThrow(new BadCredentialsException("bad"))
+                .thenThrow(new PasswordCheckRejectedException(1))
+                .thenThrow(new DisabledException("disabled"));
+        // When / Then
+        assertThatThrownBy(() -> controller.authenticateUser(request)).isInstanceOf(BadCredentialsException.class);
+        assertThatThrownBy(() -> controller.authenticateUser(request)).isInstanceOf(PasswordCheckRejectedException.class);
+        assertThatThrownBy(() -> controller.authenticateUser(request)).isInstanceOf(DisabledException.class);
+        assertThat(loginCount("bad_credentials")).isEqualTo(1);
+        assertThat(loginCount("rejected")).isEqualTo(1);
+        assertThat(loginCount("denied")).isEqualTo(1);
+    }
+
+    private double loginCount(String outcome) {
+        return meterRegistry.get("mathquiz.auth.login").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.mathquiz.adapter.in.web.dto;
+
+import com.example.mathquiz.domain.Question;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QuestionsResponseTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void deserialise_shouldKeepNextCursor() throws Exception {
+        // Given
+        Question question = new Question("What is 2 + 2?", List.of("3", "4"), 1);
+        question.setId(11L);
+        String json = objectMapper.writeValueAsString(new QuestionsResponse(List.of(question), 11L));
+        // When
+        QuestionsResponse response = objectMapper.readValue(json, QuestionsResponse.class);
+        // Then
+        assertThat(response.getQuestions()).extracting(Question::getId).containsExactly(11L);
+        assertThat(response.getSummary().getNextCursor()).isEqualTo(11L);
+        assertThat(response.getSummary().getTotalQuestions()).isEqualTo(1);
+    }
+
+    @Test
+    void deserialise_withoutSummary_shouldHaveNoCursor() throws Exception {
+        // When
+        QuestionsResponse response = objectMapper.readValue("{\"questions\":[]}", QuestionsResponse.class);
+        // Then
+        assertThat(response.getSummary().getNextCursor()).isNull();
+        assertThat(response.getSummary().getTotalQuestions()).isZero();
+    }
+}
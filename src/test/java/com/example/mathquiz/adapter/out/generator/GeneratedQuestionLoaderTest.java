@@ -0,0 +1,42 @@
+package com.example.mathquiz.adapter.out.generator;
+
+import com.example.mathquiz.domain.ArithmeticQuestionGenerator;
+import com.example.mathquiz.domain.Question;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeneratedQuestionLoaderTest {
+    private final ArithmeticQuestionGenerator generator = new ArithmeticQuestionGenerator(1L, 10);
+    private GeneratedQuestionLoader loader;
+
+    @BeforeEach
+    void setUp() {
+        loader = new GeneratedQuestionLoader(generator);
+        ReflectionTestUtils.setField(loader, "count", 2_500L);
+    }
+
+    @Test
+    void loadQuestions_shouldHandOverBatchesInIndexOrder() {
+        // Given
+        List<List<Question>> batches = new ArrayList<>();
+        // When
+        long loaded = loader.loadQuestions(1_000, batches::add);
+        // Then
+        assertThat(loaded).isEqualTo(2_500);
+        assertThat(batches).extracting(List::size).containsExactly(1_000, 1_000, 500);
+        assertThat(batches.get(2).getLast().getContent()).isEqualTo(generator.generate(2_499).getContent());
+        assertThat(batches).allSatisfy(batch -> assertThat(batch).allSatisfy(question -> assertThat(question.getId()).isNull()));
+    }
+
+    @Test
+    void loadQuestions_withInvalidBatchSize_shouldBeRejected() {
+        assertThatThrownBy(() -> loader.loadQuestions(0, _ -> {})).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.mathquiz.adapter.out.json;
+
+import com.example.mathquiz.domain.Question;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonQuestionLoaderTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private JsonQuestionLoader loader;
+    @TempDir
+    private Path shards;
+
+    @BeforeEach
+    void setUp() {
+        loader = new JsonQuestionLoader(objectMapper, new PathMatchingResourcePatternResolver());
+    }
+
+    @Test
+    void loadQuestions_withDefaultLocation_shouldReadClasspathSample() {
+        ReflectionTestUtils.setField(loader, "location", "classpath:sample-questions.json");
+
+        assertThat(loader.loadQuestions()).isNotEmpty().allMatch(question -> !question.getOptions().isEmpty());
+    }
+
+    @Test
+    void loadQuestions_withShardDirectory_shouldStreamEveryShardInBoundedBatches() throws IOException {
+        // Given
+        Files.writeString(shards.resolve("a.json"), objectMapper.writeValueAsString(questions("a", 25)));
+        writeGzip(shards.resolve("b.ndjson.gz"), questions("b", 12).stream()
+                .map(this::toJson)
+                .collect(Collectors.joining("\n")));
+        Files.writeString(shards.resolve("notes.txt"), "not a shard");
+        ReflectionTestUtils.setField(loader, "location", shards.toUri().toString());
+        List<List<Question>> batches = new ArrayList<>();
+        // When
+        long loaded = loader.loadQuestions(10, batches::add);
+        // Then
+        assertThat(loaded).isEqualTo(37);
+        assertThat(batches).allMatch(batch -> batch.size() <= 10);
+        assertThat(batches.stream().flatMap(List::stream).map(Question::getContent))
+                .hasSize(37)
+                .doesNotHaveDuplicates()
+                .contains("a-0", "a-24", "b-0", "b-11");
+    }
+
+    @Test
+    void loadQuestions_withGlob_shouldOnlyReadMatchingShards() throws IOException {
+        // Given
+        Files.writeString(shards.resolve("bank-1.json"), objectMapper.writeValueAsString(questions("one", 3)));
+        Files.writeString(shards.resolve("bank-2.json"), objectMapper.writeValueAsString(questions("two", 4)));
+        Files.writeString(shards.resolve("other.json"), objectMapper.writeValueAsString(questions("other", 5)));
+        ReflectionTestUtils.setField(loader, "location", shards.toUri() + "bank-*.json");
+        // When
+        List<Question> questions = loader.loadQuestions();
+        // Then
+        assertThat(questions).hasSize(7).noneMatch(question -> question.getContent().startsWith("other"));
+    }
+
+    @Test
+    void loadQuestions_withMissingLocation_shouldReturnNothing() {
+        ReflectionTestUtils.setField(loader, "location", shards.resolve("missing.json").toUri().toString());
+
+        assertThat(loader.loadQuestions()).isEmpty();
+    }
+
+    @Test
+    void loadQuestions_withMalformedShard_shouldFail() throws IOException {
+        // Given
+        Files.writeString(shards.resolve("broken.json"), "[{\"content\": \"Q\", \"options\": [\"A\"]}, 42]");
+        ReflectionTestUtils.setField(loader, "location", shards.toUri().toString());
+        // When/Then
+        assertThatThrownBy(() -> loader.loadQuestions())
+                .isInstanceOf(UncheckedIOException.class);
+    }
+
+    private String toJson(Question question) {
+        try {
+            return objectMapper.writeValueAsString(question);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeGzip(Path path, String content) throws IOException {
+        try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(path))) {
+            output.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static List<Question> questions(String prefix, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new Question(prefix + "-" + i, List.of("A", "B"), 0))
+                .toList();
+    }
+}
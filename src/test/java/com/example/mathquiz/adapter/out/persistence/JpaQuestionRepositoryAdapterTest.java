@@ -1,24 +1,38 @@
 package com.example.mathquiz.adapter.out.persistence;
 
 import com.example.mathquiz.domain.Question;
+import com.example.mathquiz.domain.QuestionPage;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mapstruct.factory.Mappers;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class JpaQuestionRepositoryAdapterTest {
     @Mock
     private QuestionRepository repository;
+    @Mock
+    private EntityManager entityManager;
     @Spy
     private QuestionMapper mapper = Mappers.getMapper(QuestionMapper.class);
     @InjectMocks
@@ -39,4 +53,203 @@ class JpaQuestionRepositoryAdapterTest {
         assertThat(result.getContent()).isEqualTo("Test question");
         verify(repository).save(any(QuestionEntity.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void save_shouldKeepTopicDifficultyAndTags() {
+        // Given
+        Question question = new Question("What is 9 - 4?", List.of("4", "5"), 1, "subtraction", 1, Set.of("result-under-10"));
+        when(repository.save(any(QuestionEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Question result = adapter.save(question);
+
+        // Then
+        assertThat(result.getTopic()).isEqualTo("subtraction");
+        assertThat(result.getDifficulty()).isEqualTo(1);
+        assertThat(result.getTags()).containsExactly("result-under-10");
+    }
+
+    @Test
+    void saveAll_shouldSaveEntitiesInOneCallAndFlush() {
+        // Given
+        List<Question> questions = List.of(
+                new Question("Q1", List.of("A", "B"), 0),
+                new Question("Q2", List.of("C", "D"), 1));
+        Session session = mock(Session.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(session.getCacheMode()).thenReturn(CacheMode.NORMAL);
+        when(repository.saveAll(anyList())).thenReturn(entities(1L, 2L));
+        // When
+        List<Question> result = adapter.saveAll(questions);
+        // Then
+        assertThat(result).extracting(Question::getId).containsExactly(1L, 2L);
+        verify(repository).saveAll(anyList());
+        verify(entityManager).flush();
+        verify(repository, never()).findByIdWithOptions(any());
+        InOrder order = inOrder(session, repository);
+        order.verify(session).setCacheMode(CacheMode.IGNORE);
+        order.verify(repository).saveAll(anyList());
+        order.verify(session).setCacheMode(CacheMode.NORMAL);
+    }
+
+    @Test
+    void isEmpty_shouldProbeForSingleId() {
+        // Given
+        when(repository.findIdsAfter(Long.MIN_VALUE, Limit.of(1))).thenReturn(List.of(), List.of(7L));
+        // When/Then
+        assertThat(adapter.isEmpty()).isTrue();
+        assertThat(adapter.isEmpty()).isFalse();
+        verify(repository, never()).findAllWithOptions();
+    }
+
+    @Test
+    void findRandom_withEmptyTable_shouldReturnEmptyList() {
+        // Given
+        when(repository.findIdRange()).thenReturn(new IdRange(null, null));
+        // When
+        List<Question> result = adapter.findRandom(5);
+        // Then
+        assertThat(result).isEmpty();
+        verify(repository, never()).findAllByIdWithOptions(any());
+    }
+
+    @Test
+    void findRandom_withSmallIdSpan_shouldPickFromAllIds() {
+        // Given
+        when(repository.findIdRange()).thenReturn(new IdRange(1L, 3L));
+        when(repository.findAllIds()).thenReturn(List.of(1L, 2L, 3L));
+        when(repository.findAllByIdWithOptions(any())).thenReturn(entities(1L, 2L, 3L));
+        // When
+        List<Question> result = adapter.findRandom(2);
+        // Then
+        assertThat(result).hasSize(2).doesNotHaveDuplicates();
+        verify(repository, never()).findExistingIds(any());
+    }
+
+    @Test
+    void findRandom_withLargeIdSpan_shouldProbeIdsInsteadOfListingThem() {
+        // Given
+        when(repository.findIdRange()).thenReturn(new IdRange(1L, 1_000_000L));
+        when(repository.findExistingIds(any())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+        when(repository.findAllByIdWithOptions(any())).thenAnswer(invocation ->
+                entities(invocation.<List<Long>>getArgument(0).stream().mapToLong(Long::longValue).toArray()));
+        // When
+        List<Question> result = adapter.findRandom(5);
+        // Then
+        assertThat(result).hasSize(5).doesNotHaveDuplicates();
+        verify(repository, never()).findAllIds();
+        verify(repository, never()).findAllWithOptions();
+    }
+
+    @Test
+    void findRandom_withSeed_shouldPickTheSameIdsWhateverOrderTheDatabaseReturns() {
+        // Given
+        when(repository.findIdRange()).thenReturn(new IdRange(1L, 6L));
+        when(repository.findAllIds()).thenReturn(List.of(4L, 1L, 6L, 2L, 5L, 3L), List.of(6L, 5L, 4L, 3L, 2L, 1L));
+        when(repository.findAllByIdWithOptions(any())).thenAnswer(invocation ->
+                entities(invocation.<List<Long>>getArgument(0).stream().mapToLong(Long::longValue).toArray()));
+        // When
+        List<Question> first = adapter.findRandom(3, 42L);
+        List<Question> second = adapter.findRandom(3, 42L);
+        // Then
+        assertThat(first).hasSize(3);
+        assertThat(second).extracting(Question::getId).containsExactlyElementsOf(first.stream().map(Question::getId).toList());
+    }
+
+    @Test
+    void findRandom_withSparseIds_shouldFallBackToRandomRowPositions() {
+        // Given
+        when(repository.findIdRange()).thenReturn(new IdRange(1L, 1_000_000L));
+        when(repository.findExistingIds(any())).thenReturn(List.of());
+        when(repository.count()).thenReturn(1L);
+        when(repository.findIdAtPosition(0L)).thenReturn(Optional.of(1_000_000L));
+        when(repository.findAllByIdWithOptions(List.of(1_000_000L))).thenReturn(entities(1_000_000L));
+        // When
+        List<Question> result = adapter.findRandom(3);
+        // Then
+        assertThat(result).extracting(Question::getId).containsExactly(1_000_000L);
+        verify(repository, atLeastOnce()).findIdAtPosition(0L);
+    }
+
+    @Test
+    void findRandom_withSparseIdsBeyondIntRange_shouldPickLongPositions() {
+        // Given
+        when(repository.findIdRange()).thenReturn(new IdRange(1L, Long.MAX_VALUE - 1));
+        when(repository.findExistingIds(any())).thenReturn(List.of());
+        when(repository.count()).thenReturn(3_000_000_000L);
+        when(repository.findIdAtPosition(anyLong())).thenAnswer(invocation -> Optional.of(invocation.<Long>getArgument(0)));
+        when(repository.findAllByIdWithOptions(any())).thenAnswer(invocation ->
+                entities(invocation.<List<Long>>getArgument(0).stream().mapToLong(Long::longValue).toArray()));
+        // When
+        List<Question> result = adapter.findRandom(3);
+        // Then
+        assertThat(result).hasSize(3).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void findRandom_withManyMissingIds_shouldProbeInBoundedBatches() {
+        // Given
+        when(repository.findIdRange()).thenReturn(new IdRange(1L, 100_000_000L));
+        when(repository.findExistingIds(any())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+        when(repository.findAllByIdWithOptions(any())).thenAnswer(invocation ->
+                entities(invocation.<List<Long>>getArgument(0).stream().mapToLong(Long::longValue).toArray()));
+        // When
+        List<Question> result = adapter.findRandom(2_000);
+        // Then
+        assertThat(result).hasSize(2_000).doesNotHaveDuplicates();
+        verify(repository, times(4)).findExistingIds(argThat(ids -> ids.size() <= 1_000));
+    }
+
+    @Test
+    void findPage_shouldReturnSortedPageWithNextCursor() {
+        // Given
+        when(repository.findIdsAfter(10L, Limit.of(3))).thenReturn(List.of(11L, 12L, 13L));
+        when(repository.findAllByIdWithOptions(List.of(11L, 12L))).thenReturn(entities(12L, 11L));
+        // When
+        QuestionPage page = adapter.findPage(10L, 2);
+        // Then
+        assertThat(page.questions()).extracting(Question::getId).containsExactly(11L, 12L);
+        assertThat(page.nextCursor()).isEqualTo(12L);
+    }
+
+    @Test
+    void findPage_onLastPage_shouldReturnNoCursor() {
+        // Given
+        when(repository.findIdsAfter(Long.MIN_VALUE, Limit.of(3))).thenReturn(List.of(1L));
+        when(repository.findAllByIdWithOptions(List.of(1L))).thenReturn(entities(1L));
+        // When
+        QuestionPage page = adapter.findPage(null, 2);
+        // Then
+        assertThat(page.questions()).extracting(Question::getId).containsExactly(1L);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void exportAll_shouldWriteEveryPageInIdOrderAndClearBetweenPages() {
+        // Given
+        when(repository.findIdsAfter(Long.MIN_VALUE, Limit.of(500))).thenReturn(List.of(1L, 2L));
+        when(repository.findIdsAfter(2L, Limit.of(500))).thenReturn(List.of(3L));
+        when(repository.findIdsAfter(3L, Limit.of(500))).thenReturn(List.of());
+        when(repository.findAllByIdForExport(List.of(1L, 2L))).thenReturn(entities(2L, 1L));
+        when(repository.findAllByIdForExport(List.of(3L))).thenReturn(entities(3L));
+        List<Question> exported = new ArrayList<>();
+        // When
+        long count = adapter.exportAll(exported::add);
+        // Then
+        assertThat(count).isEqualTo(3);
+        assertThat(exported).extracting(Question::getId).containsExactly(1L, 2L, 3L);
+        InOrder inOrder = inOrder(repository, entityManager);
+        inOrder.verify(repository).findAllByIdForExport(List.of(1L, 2L));
+        inOrder.verify(entityManager).clear();
+        inOrder.verify(repository).findAllByIdForExport(List.of(3L));
+        inOrder.verify(entityManager).clear();
+    }
+
+    private static List<QuestionEntity> entities(long... ids) {
+        return LongStream.of(ids).mapToObj(id -> {
+            QuestionEntity entity = new QuestionEntity("Q" + id, List.of("A", "B"), 0);
+            entity.setId(id);
+            return entity;
+        }).toList();
+    }
+}
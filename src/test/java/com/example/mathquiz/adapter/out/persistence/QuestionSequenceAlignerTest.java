@@ -0,0 +1,78 @@
+package com.example.mathquiz.adapter.out.persistence;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionSequenceAlignerTest {
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection connection;
+    @Mock
+    private DatabaseMetaData metaData;
+    @Mock
+    private PreparedStatement statement;
+    @Mock
+    private ResultSet resultSet;
+    private QuestionSequenceAligner aligner;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        aligner = new QuestionSequenceAligner(dataSource, mock(EntityManagerFactory.class));
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.getMetaData()).thenReturn(metaData);
+    }
+
+    @Test
+    void align_onPostgres_shouldMoveSequencePastExistingIds() throws Exception {
+        // Given
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        // When
+        aligner.align();
+        // Then
+        verify(statement).setInt(1, QuestionEntity.ID_ALLOCATION_SIZE);
+        verify(statement).executeQuery();
+        verify(connection).close();
+    }
+
+    @Test
+    void align_onOtherDatabases_shouldLeaveSequenceAlone() throws Exception {
+        // Given
+        when(metaData.getDatabaseProductName()).thenReturn("H2");
+        // When
+        aligner.align();
+        // Then
+        verify(connection, never()).prepareStatement(anyString());
+        verify(connection).close();
+    }
+
+    @Test
+    void align_whenStatementFails_shouldFailStartupWithTheFix() throws Exception {
+        // Given
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        when(connection.prepareStatement(anyString())).thenThrow(new SQLException("permission denied"));
+        // When / Then
+        assertThatThrownBy(() -> aligner.align())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("setval('questions_seq'");
+    }
+}
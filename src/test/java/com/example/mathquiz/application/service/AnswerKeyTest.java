@@ -0,0 +1,110 @@
+package com.example.mathquiz.application.service;
+
+import com.example.mathquiz.domain.ContentVersion;
+import com.example.mathquiz.domain.Question;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AnswerKeyTest {
+    private static final QuestionVersions.Step STEP = step(0L, 1L);
+    private AnswerKey answerKey;
+
+    @BeforeEach
+    void setUp() {
+        answerKey = new AnswerKey();
+    }
+
+    @Test
+    void answer_withUnloadedKey_shouldBeUnknown() {
+        answerKey.put(question(1L, 2), STEP);
+
+        assertThat(answerKey.isLoaded()).isFalse();
+        assertThat(answerKey.answer(1L)).isEqualTo(AnswerKey.UNKNOWN);
+    }
+
+    @Test
+    void load_shouldIndexAnswersById() {
+        // When
+        answerKey.ensureLoaded(0L, sink -> {
+            sink.accept(3L, 1);
+            sink.accept(5_000L, 0);
+            sink.accept(7L, 300);
+        });
+        // Then
+        assertThat(answerKey.answer(3L)).isEqualTo(1);
+        assertThat(answerKey.answer(5_000L)).isZero();
+        assertThat(answerKey.answer(4L)).isEqualTo(AnswerKey.UNKNOWN);
+        assertThat(answerKey.answer(7L)).as("does not fit a byte").isEqualTo(AnswerKey.UNKNOWN);
+        assertThat(answerKey.answer(-1L)).isEqualTo(AnswerKey.UNKNOWN);
+        assertThat(answerKey.answer(1L << 40)).isEqualTo(AnswerKey.UNKNOWN);
+    }
+
+    @Test
+    void putAndRemove_shouldPublishNewAnswers() {
+        // Given
+        answerKey.ensureLoaded(0L, sink -> sink.accept(1L, 1));
+        // When
+        answerKey.putAll(List.of(question(1L, 3), question(2_000L, 2)), STEP);
+        answerKey.remove(1L, STEP);
+        answerKey.remove(42L, STEP);
+        // Then
+        assertThat(answerKey.answer(1L)).isEqualTo(AnswerKey.UNKNOWN);
+        assertThat(answerKey.answer(2_000L)).isEqualTo(2);
+        assertThat(answerKey.answer(1_999L)).isEqualTo(AnswerKey.UNKNOWN);
+    }
+
+    @Test
+    void ensureLoaded_shouldExportOnceAndKeepWritesCommittedMeanwhile() {
+        // Given
+        AtomicInteger exports = new AtomicInteger();
+        // When
+        answerKey.ensureLoaded(0L, sink -> {
+            exports.incrementAndGet();
+            sink.accept(1L, 1);
+            sink.accept(2L, 1);
+            CompletableFuture.runAsync(() -> {
+                answerKey.put(question(1L, 3), STEP);
+                answerKey.remove(2L, STEP);
+            }).orTimeout(5, TimeUnit.SECONDS).join();
+        });
+        answerKey.ensureLoaded(0L, sink -> exports.incrementAndGet());
+        // Then
+        assertThat(exports).hasValue(1);
+        assertThat(answerKey.answer(1L)).isEqualTo(3);
+        assertThat(answerKey.answer(2L)).isEqualTo(AnswerKey.UNKNOWN);
+    }
+
+    @Test
+    void ensureLoaded_shouldReloadOnlyWhenTheBankMovedElsewhere() {
+        // Given
+        answerKey.ensureLoaded(5L, sink -> sink.accept(1L, 1));
+        answerKey.put(question(1L, 2), step(5L, 6L));
+        // When
+        answerKey.ensureLoaded(6L, sink -> sink.accept(1L, 0));
+        int afterLocalWrite = answerKey.answer(1L);
+        answerKey.put(question(2L, 2), step(7L, 8L));
+        answerKey.ensureLoaded(8L, sink -> sink.accept(1L, 0));
+        // Then
+        assertThat(afterLocalWrite).isEqualTo(2);
+        assertThat(answerKey.answer(1L)).isZero();
+        assertThat(answerKey.answer(2L)).isEqualTo(AnswerKey.UNKNOWN);
+    }
+
+    private static QuestionVersions.Step step(long previous, long next) {
+        return new QuestionVersions.Step(previous, new ContentVersion(next, Instant.EPOCH));
+    }
+
+    private static Question question(Long id, int correctOption) {
+        Question question = new Question("Q" + id, List.of("A", "B", "C", "D"), correctOption);
+        question.setId(id);
+        return question;
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.mathquiz.application.service;
+
+import com.example.mathquiz.domain.ContentVersion;
+import com.example.mathquiz.domain.Question;
+import com.example.mathquiz.domain.QuestionFilter;
+import com.example.mathquiz.domain.QuizOverlap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QuestionPoolTest {
+    private static final QuestionVersions.Step STEP = step(0L, 1L);
+    private QuestionPool questionPool;
+
+    @BeforeEach
+    void setUp() {
+        questionPool = new QuestionPool();
+    }
+
+    @Test
+    void sample_withUnloadedPool_shouldReturnEmptyList() {
+        assertThat(questionPool.isLoaded()).isFalse();
+        assertThat(questionPool.sample(5)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 49, 50, 99, 100})
+    void sample_shouldReturnDistinctQuestions(int count) {
+        // Given
+        questionPool.load(questions(100), 0L);
+        // When
+        List<Question> result = questionPool.sample(count);
+        // Then
+        assertThat(result).hasSize(count).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void sample_withCountLargerThanPool_shouldReturnWholePool() {
+        // Given
+        questionPool.load(questions(4), 0L);
+        // When
+        List<Question> result = questionPool.sample(10);
+        // Then
+        assertThat(result).extracting(Question::getId).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void sample_shouldEventuallyReturnEveryQuestion() {
+        // Given
+        questionPool.load(questions(20), 0L);
+        // When
+        long distinct = LongStream.range(0, 500)
+                .mapToObj(_ -> questionPool.sample(1).getFirst().getId())
+                .distinct()
+                .count();
+        // Then
+        assertThat(distinct).isEqualTo(20);
+    }
+
+    @Test
+    void sample_withSeed_shouldNotDependOnLoadOrder() {
+        // Given
+        List<Question> bank = questions(100);
+        QuestionPool reversed = new QuestionPool();
+        questionPool.load(bank, 0L);
+        reversed.load(bank.reversed(), 0L);
+        // When
+        List<Question> result = questionPool.sample(10, 7L, QuestionFilter.NONE);
+        // Then
+        assertThat(result).hasSize(10).doesNotHaveDuplicates();
+        assertThat(reversed.sample(10, 7L, QuestionFilter.NONE)).containsExactlyElementsOf(result);
+        assertThat(questionPool.sample(10, 8L, QuestionFilter.NONE)).isNotEqualTo(result);
+    }
+
+    @Test
+    void sample_withFilter_shouldOnlyDrawMatchingQuestions() {
+        // Given
+        List<Question> bank = questions(100);
+        bank.forEach(question -> {
+            question.setTopic(question.getId() % 2 == 0 ? "subtraction" : "addition");
+            question.setTags(question.getId() % 5 == 0 ? Set.of("result-under-10") : Set.of());
+        });
+        questionPool.load(bank, 0L);
+        QuestionFilter filter = new QuestionFilter(Set.of("result-under-10"), null, Set.of("Subtraction"), null);
+        // When
+        List<Question> result = questionPool.sample(20, filter);
+        // Then
+        assertThat(result).extracting(Question::getId)
+                .containsExactlyInAnyOrder(10L, 20L, 30L, 40L, 50L, 60L, 70L, 80L, 90L, 100L);
+        assertThat(questionPool.sample(3, 7L, filter)).hasSize(3)
+                .containsExactlyElementsOf(questionPool.sample(3, 7L, filter));
+    }
+
+    @Test
+    void sample_withFilter_shouldSeeQuestionsPutAfterTheIndexWasBuilt() {
+        // Given
+        questionPool.load(questions(3), 0L);
+        QuestionFilter filter = new QuestionFilter(null, Set.of("fractions", "geometry"), null, null);
+        assertThat(questionPool.sample(5, filter)).isEmpty();
+        Question tagged = question(2L, "Updated");
+        tagged.setTags(Set.of("geometry"));
+        // When
+        questionPool.put(tagged, STEP);
+        // Then
+        assertThat(questionPool.sample(5, filter)).extracting(Question::getContent).containsExactly("Updated");
+    }
+
+    @Test
+    void put_shouldReplaceExistingQuestion() {
+        // Given
+        questionPool.load(questions(2), 0L);
+        Question updated = question(2L, "Updated");
+        // When
+        questionPool.put(updated, STEP);
+        // Then
+        assertThat(questionPool.size()).isEqualTo(2);
+        assertThat(questionPool.sample(2)).extracting(Question::getContent).containsExactlyInAnyOrder("Q1", "Updated");
+    }
+
+    @Test
+    void putAll_shouldKeepTheSnapshotOrderedByIdWhetherIdsAppendOrNot() {
+        // Given
+        questionPool.load(questions(20), 0L);
+        questionPool.remove(2L, STEP);
+        QuestionPool fresh = new QuestionPool();
+        List<Question> bank = new ArrayList<>(questions(40));
+        bank.set(4, question(5L, "Updated"));
+        fresh.load(bank, 0L);
+        // When
+        questionPool.putAll(questions(40).subList(20, 30), STEP);
+        questionPool.putAll(List.of(question(5L, "Updated"), question(31L, "Q31"), question(2L, "Q2")), STEP);
+        questionPool.putAll(questions(40).subList(31, 40), STEP);
+        // Then
+        assertThat(questionPool.size()).isEqualTo(40);
+        assertThat(questionPool.sample(40, 7L, QuestionFilter.NONE)).extracting(Question::getContent)
+                .containsExactlyElementsOf(fresh.sample(40, 7L, QuestionFilter.NONE).stream()
+                        .map(Question::getContent).toList());
+    }
+
+    @Test
+    void put_withUnloadedPool_shouldBeIgnored() {
+        questionPool.put(question(1L, "Q1"), STEP);
+
+        assertThat(questionPool.isLoaded()).isFalse();
+    }
+
+    @Test
+    void remove_shouldDropQuestion() {
+        // Given
+        questionPool.load(questions(3), 0L);
+        // When
+        questionPool.remove(2L, STEP);
+        questionPool.remove(42L, STEP);
+        // Then
+        assertThat(questionPool.sample(5)).extracting(Question::getId).containsExactlyInAnyOrder(1L, 3L);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"30, 10, 300", "30, 10, 1000", "7, 3, 21"})
+    void sampleQuizzes_distinct_shouldNeverRepeatQuestionsAcrossQuizzes(int quizzes, int size, int bank) {
+        // Given
+        questionPool.load(questions(bank), 0L);
+        // When
+        List<List<Question>> result = questionPool.sampleQuizzes(quizzes, size, QuizOverlap.DISTINCT);
+        // Then
+        assertThat(result).hasSize(quizzes).allSatisfy(quiz -> assertThat(quiz).hasSize(size));
+        assertThat(result.stream().flatMap(List::stream)).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void sampleQuizzes_distinct_withTooSmallBank_shouldBeRejected() {
+        // Given
+        questionPool.load(questions(20), 0L);
+        // When / Then
+        assertThatThrownBy(() -> questionPool.sampleQuizzes(3, 7, QuizOverlap.DISTINCT))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("bank holds 20");
+    }
+
+    @ParameterizedTest
+    @CsvSource({"30, 10, 45", "30, 10, 7", "5, 4, 4", "13, 6, 11"})
+    void sampleQuizzes_minimise_shouldSpreadQuestionsEvenly(int quizzes, int size, int bank) {
+        // Given
+        questionPool.load(questions(bank), 0L);
+        int picks = Math.min(size, bank);
+        long maxUses = Math.ceilDiv((long) quizzes * picks, bank);
+        // When
+        List<List<Question>> result = questionPool.sampleQuizzes(quizzes, size, QuizOverlap.MINIMISE);
+        // Then
+        assertThat(result).hasSize(quizzes).allSatisfy(quiz -> assertThat(quiz).hasSize(picks).doesNotHaveDuplicates());
+        Map<Question, Long> uses = result.stream()
+                .flatMap(List::stream)
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        assertThat(uses.values()).allSatisfy(count -> assertThat(count).isLessThanOrEqualTo(maxUses));
+    }
+
+    @Test
+    void sampleQuizzes_independent_shouldDrawEachQuizOnItsOwn() {
+        // Given
+        questionPool.load(questions(5), 0L);
+        // When
+        List<List<Question>> result = questionPool.sampleQuizzes(50, 4, QuizOverlap.INDEPENDENT);
+        // Then
+        assertThat(result).hasSize(50).allSatisfy(quiz -> assertThat(quiz).hasSize(4).doesNotHaveDuplicates());
+    }
+
+    @Test
+    void ensureLoaded_shouldReadTheBankOnceAndKeepWritesCommittedMeanwhile() {
+        // Given
+        AtomicInteger reads = new AtomicInteger();
+        // When
+        questionPool.ensureLoaded(5L, () -> {
+            reads.incrementAndGet();
+            // Another caller arriving mid-load, and a write committing before the load publishes
+            CompletableFuture.runAsync(() -> questionPool.put(question(4L, "Q4"), step(5L, 6L)))
+                    .orTimeout(5, TimeUnit.SECONDS).join();
+            return questions(3);
+        });
+        questionPool.ensureLoaded(6L, () -> {
+            reads.incrementAndGet();
+            return List.of();
+        });
+        // Then
+        assertThat(reads).hasValue(1);
+        assertThat(questionPool.sample(10)).extracting(Question::getId).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void ensureLoaded_shouldReloadOnlyWhenTheBankMovedElsewhere() {
+        // Given
+        questionPool.load(questions(2), 5L);
+        questionPool.remove(2L, step(5L, 6L));
+        // When
+        questionPool.ensureLoaded(6L, () -> questions(5));
+        List<Question> afterLocalWrite = questionPool.sample(10);
+        questionPool.put(question(9L, "Q9"), step(7L, 8L));
+        questionPool.ensureLoaded(8L, () -> questions(5));
+        // Then
+        assertThat(afterLocalWrite).extracting(Question::getId).containsExactly(1L);
+        assertThat(questionPool.size()).isEqualTo(5);
+    }
+
+    @Test
+    void sampleQuizzes_withUnloadedPool_shouldReturnEmptyQuizzes() {
+        assertThat(questionPool.sampleQuizzes(2, 5, QuizOverlap.DISTINCT)).containsExactly(List.of(), List.of());
+    }
+
+    private static List<Question> questions(int count) {
+        return LongStream.rangeClosed(1, count).mapToObj(id -> question(id, "Q" + id)).toList();
+    }
+
+    private static QuestionVersions.Step step(long previous, long next) {
+        return new QuestionVersions.Step(previous, new ContentVersion(next, Instant.EPOCH));
+    }
+
+    private static Question question(Long id, String content) {
+        Question question = new Question(content, List.of("A", "B"), 0);
+        question.setId(id);
+        return question;
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.mathquiz.application.service;
+
+import com.example.mathquiz.domain.Question;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QuestionSearchIndexTest {
+    private QuestionSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new QuestionSearchIndex();
+    }
+
+    @Test
+    void trigrams_shouldPadWordsAndKeepMathsSymbols() {
+        assertThat(QuestionSearchIndex.trigrams("Cat")).hasSize(4)
+                .containsExactlyInAnyOrder(QuestionSearchIndex.trigrams("  CAT "));
+        assertThat(QuestionSearchIndex.trigrams("5 - 3")).isNotEqualTo(QuestionSearchIndex.trigrams("5 + 3"));
+        assertThat(QuestionSearchIndex.trigrams("5 ? 3")).isEqualTo(QuestionSearchIndex.trigrams("3, 5"));
+        assertThat(QuestionSearchIndex.trigrams("?!")).isEmpty();
+    }
+
+    @Test
+    void search_shouldRankCloserQuestionsFirstAndPage() {
+        // Given
+        searchIndex.ensureLoaded(sink -> {
+            sink.accept(question(1L, "How many apples are left if you eat 2 of 5 apples?", "3"));
+            sink.accept(question(2L, "What is 5 - 2?", "3"));
+            sink.accept(question(3L, "What is 5 + 2?", "7"));
+            sink.accept(question(4L, "Which is bigger, 5 - 2 or 2?", "3"));
+        });
+        // When
+        QuestionSearchIndex.Hits hits = searchIndex.search("what is 5-2", 0, 10);
+        QuestionSearchIndex.Hits page = searchIndex.search("5 - 2", 1, 1);
+        // Then
+        assertThat(hits.ids()).containsExactly(2L);
+        assertThat(page.ids()).containsExactly(4L);
+        assertThat(page.total()).isEqualTo(2);
+        assertThat(searchIndex.search("apples", 0, 10).ids()).containsExactly(1L);
+        assertThat(searchIndex.search("pears", 0, 10).total()).isZero();
+        assertThat(searchIndex.search("5 - 2", 2, 10).ids()).isEmpty();
+    }
+
+    @Test
+    void search_shouldMatchOptionText() {
+        // Given
+        searchIndex.ensureLoaded(sink -> sink.accept(question(1L, "Which animal has eight legs?", "Spider")));
+        // When / Then
+        assertThat(searchIndex.search("spider", 0, 10).ids()).containsExactly(1L);
+    }
+
+    @Test
+    void putAndRemove_shouldUpdateLoadedIndexInPlace() {
+        // Given
+        searchIndex.put(question(9L, "Ignored before load", "A"));
+        searchIndex.ensureLoaded(sink -> sink.accept(question(1L, "What is 3 + 4?", "7")));
+        // When
+        searchIndex.put(question(1L, "What is 30 + 40?", "70"));
+        searchIndex.putAll(List.of(question(2L, "What is 3 + 4 + 5?", "12")));
+        searchIndex.remove(42L);
+        // Then
+        assertThat(searchIndex.search("ignored", 0, 10).total()).isZero();
+        assertThat(searchIndex.search("3 + 4", 0, 10).ids()).containsExactly(2L);
+        assertThat(searchIndex.search("30 + 40", 0, 10).ids()).containsExactly(1L);
+        searchIndex.remove(2L);
+        assertThat(searchIndex.search("3 + 4", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void ensureLoaded_shouldLetWritersThroughAndReplayThemOnTop() {
+        // Given
+        searchIndex.ensureLoaded(sink -> {
+            sink.accept(question(1L, "What is 3 + 4?", "7"));
+            sink.accept(question(2L, "What is 6 - 1?", "5"));
+            // When: writers on other threads commit while the export is running
+            CompletableFuture.runAsync(() -> {
+                searchIndex.put(question(1L, "What is 30 + 40?", "70"));
+                searchIndex.put(question(3L, "What is 9 - 2?", "7"));
+                searchIndex.remove(2L);
+            }).orTimeout(5, TimeUnit.SECONDS).join();
+            assertThat(searchIndex.isLoaded()).isFalse();
+        });
+        // Then
+        assertThat(searchIndex.search("3 + 4", 0, 10).total()).isZero();
+        assertThat(searchIndex.search("30 + 40", 0, 10).ids()).containsExactly(1L);
+        assertThat(searchIndex.search("9 - 2", 0, 10).ids()).containsExactly(3L);
+        assertThat(searchIndex.search("6 - 1", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void ensureLoaded_shouldDropRecordedWritesWhenTheExportFails() {
+        // Given
+        assertThatThrownBy(() -> searchIndex.ensureLoaded(sink -> {
+            searchIndex.put(question(1L, "What is 3 + 4?", "7"));
+            throw new IllegalStateException("export failed");
+        })).isInstanceOf(IllegalStateException.class);
+        // When
+        searchIndex.put(question(2L, "What is 3 + 4 + 5?", "12"));
+        searchIndex.ensureLoaded(sink -> sink.accept(question(3L, "What is 3 + 4 - 1?", "6")));
+        // Then
+        assertThat(searchIndex.search("3 + 4", 0, 10).ids()).containsExactly(3L);
+    }
+
+    @Test
+    void remove_shouldCompactWithoutLosingLiveQuestions() {
+        // Given
+        searchIndex.ensureLoaded(sink -> LongStream.rangeClosed(1, 5_000)
+                .forEach(id -> sink.accept(question(id, "Question number " + id, "A"))));
+        // When
+        LongStream.rangeClosed(1, 4_000).filter(id -> id % 2 == 0).forEach(searchIndex::remove);
+        searchIndex.put(question(7L, "Question number seven", "A"));
+        // Then
+        assertThat(searchIndex.search("question number", 0, 10).total()).isEqualTo(3_000);
+        assertThat(searchIndex.search("number 4001", 0, 10).ids()).containsExactly(4_001L);
+        assertThat(searchIndex.search("number 3998", 0, 10).total()).isZero();
+        assertThat(searchIndex.search("number seven", 0, 10).ids()).containsExactly(7L);
+        assertThat(searchIndex.search("question number", 0, 3).ids()).containsExactly(1L, 3L, 5L);
+    }
+
+    private static Question question(Long id, String content, String option) {
+        Question question = new Question(content, List.of(option, "Other"), 0);
+        question.setId(id);
+        return question;
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.mathquiz.application.service;
+
+import com.example.mathquiz.application.port.out.LoadQuestionsPort;
+import com.example.mathquiz.application.port.out.PersistQuestionPort;
+import com.example.mathquiz.application.port.out.QuestionSeedingPort;
+import com.example.mathquiz.application.port.out.QuestionSeedingPort.Seeding;
+import com.example.mathquiz.application.port.out.QuestionVersionPort;
+import com.example.mathquiz.domain.Question;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionSeederTest {
+    @Mock private PersistQuestionPort persistQuestionPort;
+    @Mock private LoadQuestionsPort loadQuestionsPort;
+    @Spy private QuestionPool questionPool = new QuestionPool();
+    @Spy private QuestionVersions questionVersions =
+            new QuestionVersions(mock(QuestionVersionPort.class), Duration.ofSeconds(1), Duration.ofHours(2));
+    @Mock private QuestionSeedingPort seedingPort;
+    @Mock private PlatformTransactionManager transactionManager;
+    @Spy private TransactionTemplate transactionTemplate = new TransactionTemplate();
+    @InjectMocks private QuestionSeeder questionSeeder;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate.setTransactionManager(transactionManager);
+    }
+
+    @Test
+    void progress_beforeStart_shouldBePending() {
+        assertThat(questionSeeder.progress().state()).isEqualTo(QuestionSeeder.State.PENDING);
+    }
+
+    @Test
+    void seed_withEmptyDatabase_shouldSaveInBatchesAndLoadPool() {
+        // Given
+        Question first = new Question("Q1", List.of("A", "B"), 0);
+        Question second = new Question("Q2", List.of("A", "B"), 0);
+        when(persistQuestionPort.isEmpty()).thenReturn(true);
+        when(loadQuestionsPort.loadQuestions(anyInt(), any())).thenAnswer(invocation -> {
+            Consumer<List<Question>> batchConsumer = invocation.getArgument(1);
+            batchConsumer.accept(List.of(first));
+            batchConsumer.accept(List.of(second));
+            return 2L;
+        });
+        when(persistQuestionPort.saveAll(List.of(first))).thenReturn(List.of(question(1L, "Q1")));
+        when(persistQuestionPort.saveAll(List.of(second))).thenReturn(List.of(question(2L, "Q2")));
+        // When
+        questionSeeder.seed();
+        // Then
+        assertThat(questionSeeder.progress()).isEqualTo(new QuestionSeeder.Progress(QuestionSeeder.State.READY, 2, null));
+        assertThat(questionPool.sample(5)).extracting(Question::getId).containsExactlyInAnyOrder(1L, 2L);
+        verify(persistQuestionPort, never()).findAll();
+        verify(persistQuestionPort, never()).save(any());
+        InOrder inOrder = inOrder(transactionManager, persistQuestionPort, questionVersions);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(persistQuestionPort).saveAll(List.of(first));
+        inOrder.verify(questionVersions).questionsCreated();
+        inOrder.verify(transactionManager).commit(any());
+        verify(seedingPort).startSeeding();
+        verify(seedingPort).completeSeeding(2);
+    }
+
+    @Test
+    void seed_afterInterruptedSeeding_shouldDeleteItsQuestionsAndSeedAgain() {
+        // Given
+        Question first = new Question("Q1", List.of("A", "B"), 0);
+        when(seedingPort.findSeeding()).thenReturn(Optional.of(new Seeding(false, 0)));
+        when(loadQuestionsPort.loadQuestions(anyInt(), any())).thenAnswer(invocation -> {
+            invocation.<Consumer<List<Question>>>getArgument(1).accept(List.of(first));
+            return 1L;
+        });
+        when(persistQuestionPort.saveAll(List.of(first))).thenReturn(List.of(question(7L, "Q1")));
+        // When
+        questionSeeder.seed();
+        // Then
+        assertThat(questionSeeder.progress()).isEqualTo(new QuestionSeeder.Progress(QuestionSeeder.State.READY, 1, null));
+        InOrder inOrder = inOrder(persistQuestionPort, seedingPort);
+        inOrder.verify(persistQuestionPort).deleteAll();
+        inOrder.verify(seedingPort).startSeeding();
+        inOrder.verify(persistQuestionPort).saveAll(List.of(first));
+        inOrder.verify(seedingPort).completeSeeding(1);
+        verify(persistQuestionPort, never()).isEmpty();
+    }
+
+    @Test
+    void seed_withCompletedSeeding_shouldOnlyWarmPool() {
+        // Given
+        when(seedingPort.findSeeding()).thenReturn(Optional.of(new Seeding(true, 1)));
+        when(persistQuestionPort.findAll()).thenReturn(List.of(question(1L, "Q1")));
+        // When
+        questionSeeder.seed();
+        // Then
+        assertThat(questionSeeder.progress().state()).isEqualTo(QuestionSeeder.State.READY);
+        assertThat(questionPool.size()).isEqualTo(1);
+        verifyNoInteractions(loadQuestionsPort);
+        verify(persistQuestionPort, never()).isEmpty();
+    }
+
+    @Test
+    void seed_withExistingQuestions_shouldOnlyWarmPool() {
+        // Given
+        when(persistQuestionPort.isEmpty()).thenReturn(false);
+        when(persistQuestionPort.findAll()).thenReturn(List.of(question(1L, "Q1")));
+        // When
+        questionSeeder.seed();
+        // Then
+        assertThat(questionSeeder.progress().state()).isEqualTo(QuestionSeeder.State.READY);
+        assertThat(questionPool.size()).isEqualTo(1);
+        verifyNoInteractions(loadQuestionsPort);
+    }
+
+    @Test
+    void seed_withDatabaseStrategy_shouldNotKeepQuestionsInMemory() {
+        // Given
+        ReflectionTestUtils.setField(questionSeeder, "randomSelectionStrategy", RandomSelectionStrategy.DATABASE);
+        when(persistQuestionPort.isEmpty()).thenReturn(false);
+        // When
+        questionSeeder.seed();
+        // Then
+        assertThat(questionSeeder.progress().state()).isEqualTo(QuestionSeeder.State.READY);
+        assertThat(questionPool.isLoaded()).isFalse();
+        verify(persistQuestionPort, never()).findAll();
+    }
+
+    @Test
+    void seed_whenLoaderFails_shouldReportFailure() {
+        // Given
+        when(persistQuestionPort.isEmpty()).thenReturn(true);
+        when(loadQuestionsPort.loadQuestions(anyInt(), any()))
+                .thenThrow(new UncheckedIOException("Broken shard", new IOException()));
+        // When
+        questionSeeder.seed();
+        // Then
+        assertThat(questionSeeder.progress().state()).isEqualTo(QuestionSeeder.State.FAILED);
+        assertThat(questionSeeder.progress().failure()).isEqualTo("Broken shard");
+        assertThat(questionPool.isLoaded()).isFalse();
+        verify(seedingPort).startSeeding();
+        verify(seedingPort, never()).completeSeeding(anyLong());
+    }
+
+    private static Question question(Long id, String content) {
+        Question question = new Question(content, List.of("A", "B"), 0);
+        question.setId(id);
+        return question;
+    }
+}
@@ -1,29 +1,49 @@
 package com.example.mathquiz.application.service;
 
-import com.example.mathquiz.application.port.out.LoadQuestionsPort;
 import com.example.mathquiz.application.port.out.PersistQuestionPort;
+import com.example.mathquiz.application.port.out.QuestionVersionPort;
+import com.example.mathquiz.domain.ArithmeticQuestionGenerator;
+import com.example.mathquiz.domain.ContentVersion;
 import com.example.mathquiz.domain.Question;
+import com.example.mathquiz.domain.QuestionFilter;
+import com.example.mathquiz.domain.QuestionPage;
+import com.example.mathquiz.domain.QuizOverlap;
 import com.example.mathquiz.domain.exception.QuestionNotFoundException;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class QuestionServiceImplTest {
     @Mock private PersistQuestionPort persistQuestionPort;
-    @Mock private LoadQuestionsPort loadQuestionsPort;
+    @Spy private QuestionPool questionPool = new QuestionPool();
+    @Spy private QuestionVersions questionVersions =
+            new QuestionVersions(mock(QuestionVersionPort.class), Duration.ofSeconds(1), Duration.ofHours(2));
+    @Spy private AnswerKey answerKey = new AnswerKey();
+    @Spy private ArithmeticQuestionGenerator questionGenerator = new ArithmeticQuestionGenerator(0L, 10);
+    @Spy private SeededQuizzes seededQuizzes = new SeededQuizzes(Duration.ofMinutes(5), 1_000);
+    @Spy private QuestionSearchIndex searchIndex = new QuestionSearchIndex();
     @InjectMocks private QuestionServiceImpl questionService;
 
     @Test
@@ -38,7 +58,7 @@ class QuestionServiceImplTest {
         List<Question> immutableList = Collections.unmodifiableList(questions);
         when(persistQuestionPort.findAll()).thenReturn(immutableList);
         // When
-        List<Question> result = questionService.getRandomQuestions(2);
+        List<Question> result = questionService.getRandomQuestions(2, QuestionFilter.NONE);
         // Then
         assertThat(result).hasSize(2).containsExactlyInAnyOrderElementsOf(questions);
     }
@@ -48,11 +68,330 @@ class QuestionServiceImplTest {
         // Given
         when(persistQuestionPort.findAll()).thenReturn(Collections.emptyList());
         // When
-        List<Question> result = questionService.getRandomQuestions(5);
+        List<Question> result = questionService.getRandomQuestions(5, QuestionFilter.NONE);
         // Then
         assertThat(result).isEmpty();
     }
 
+    @Test
+    void getRandomQuestions_shouldLoadPoolOnceAndServeFromMemory() {
+        // Given
+        when(persistQuestionPort.findAll()).thenReturn(List.of(question(1L, "Q1"), question(2L, "Q2")));
+        // When
+        questionService.getRandomQuestions(1, QuestionFilter.NONE);
+        List<Question> result = questionService.getRandomQuestions(5, QuestionFilter.NONE);
+        // Then
+        assertThat(result).extracting(Question::getId).containsExactlyInAnyOrder(1L, 2L);
+        verify(persistQuestionPort, times(1)).findAll();
+    }
+
+    @Test
+    void getRandomQuizzes_shouldDealWholeBatchFromOnePoolLoad() {
+        // Given
+        when(persistQuestionPort.findAll()).thenReturn(List.of(question(1L, "Q1"), question(2L, "Q2"),
+                question(3L, "Q3"), question(4L, "Q4")));
+        // When
+        List<List<Question>> result = questionService.getRandomQuizzes(2, 2, QuizOverlap.DISTINCT);
+        // Then
+        assertThat(result).hasSize(2);
+        assertThat(result.stream().flatMap(List::stream)).extracting(Question::getId)
+                .containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        verify(persistQuestionPort, times(1)).findAll();
+    }
+
+    @Test
+    void getRandomQuizzes_withDatabaseStrategy_shouldSampleBatchInOneQuery() {
+        // Given
+        ReflectionTestUtils.setField(questionService, "randomSelectionStrategy", RandomSelectionStrategy.DATABASE);
+        when(persistQuestionPort.findRandom(6)).thenReturn(List.of(question(1L, "Q1"), question(2L, "Q2"),
+                question(3L, "Q3"), question(4L, "Q4"), question(5L, "Q5"), question(6L, "Q6")));
+        // When
+        List<List<Question>> result = questionService.getRandomQuizzes(3, 2, QuizOverlap.DISTINCT);
+        // Then
+        assertThat(result).hasSize(3).allSatisfy(quiz -> assertThat(quiz).hasSize(2));
+        assertThat(result.stream().flatMap(List::stream)).doesNotHaveDuplicates();
+        verify(persistQuestionPort, never()).findAll();
+    }
+
+    @Test
+    void getRandomQuizzes_withOversizedBatch_shouldThrowException() {
+        assertThatThrownBy(() -> questionService.getRandomQuizzes(200, 100, QuizOverlap.INDEPENDENT))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> questionService.getRandomQuizzes(0, 10, QuizOverlap.INDEPENDENT))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(persistQuestionPort);
+    }
+
+    @Test
+    void getRandomQuestions_withDatabaseStrategy_shouldSampleInDatabase() {
+        // Given
+        ReflectionTestUtils.setField(questionService, "randomSelectionStrategy", RandomSelectionStrategy.DATABASE);
+        when(persistQuestionPort.findRandom(2)).thenReturn(List.of(question(7L, "Q7"), question(3L, "Q3")));
+        // When
+        List<Question> result = questionService.getRandomQuestions(2, QuestionFilter.NONE);
+        // Then
+        assertThat(result).extracting(Question::getId).containsExactly(7L, 3L);
+        assertThat(questionPool.isLoaded()).isFalse();
+        verify(persistQuestionPort, never()).findAll();
+    }
+
+    @Test
+    void getRandomQuestions_withGeneratedStrategy_shouldNeverTouchStorage() {
+        // Given
+        ReflectionTestUtils.setField(questionService, "randomSelectionStrategy", RandomSelectionStrategy.GENERATED);
+        // When
+        List<Question> questions = questionService.getRandomQuestions(5, QuestionFilter.NONE);
+        List<List<Question>> quizzes = questionService.getRandomQuizzes(3, 4, QuizOverlap.DISTINCT);
+        // Then
+        assertThat(questions).hasSize(5).allSatisfy(question ->
+                assertThat(ArithmeticQuestionGenerator.isGenerated(question.getId())).isTrue());
+        assertThat(quizzes).hasSize(3).allSatisfy(quiz -> assertThat(quiz).hasSize(4));
+        assertThat(quizzes.stream().flatMap(List::stream)).doesNotHaveDuplicates();
+        assertThat(questionPool.isLoaded()).isFalse();
+        verifyNoInteractions(persistQuestionPort);
+    }
+
+    @Test
+    void getRandomQuestions_withFilter_shouldDrawFromTheMatchingPoolQuestions() {
+        // Given
+        Question tagged = question(2L, "Q2");
+        tagged.setTags(Set.of("result-under-10"));
+        when(persistQuestionPort.findAll()).thenReturn(List.of(question(1L, "Q1"), tagged, question(3L, "Q3")));
+        QuestionFilter filter = new QuestionFilter(Set.of("result-under-10"), null, null, null);
+        // When
+        List<Question> result = questionService.getRandomQuestions(5, filter);
+        // Then
+        assertThat(result).extracting(Question::getId).containsExactly(2L);
+    }
+
+    @Test
+    void getRandomQuestions_withFilterAndDatabaseStrategy_shouldBeRejected() {
+        // Given
+        ReflectionTestUtils.setField(questionService, "randomSelectionStrategy", RandomSelectionStrategy.DATABASE);
+        QuestionFilter filter = new QuestionFilter(null, null, Set.of("subtraction"), null);
+        // When / Then
+        assertThatThrownBy(() -> questionService.getRandomQuestions(5, filter))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(persistQuestionPort);
+    }
+
+    @Test
+    void getSeededQuestions_shouldSelectOncePerSeedCountAndBankVersion() {
+        // Given
+        ReflectionTestUtils.setField(questionService, "randomSelectionStrategy", RandomSelectionStrategy.DATABASE);
+        when(persistQuestionPort.findRandom(2, 7L)).thenReturn(List.of(question(3L, "Q3"), question(1L, "Q1")),
+                List.of(question(2L, "Q2"), question(1L, "Q1")));
+        // When
+        List<Question> first = questionService.getSeededQuestions(2, 7L, QuestionFilter.NONE);
+        List<Question> again = questionService.getSeededQuestions(2, 7L, QuestionFilter.NONE);
+        questionVersions.questionChanged(3L);
+        List<Question> afterWrite = questionService.getSeededQuestions(2, 7L, QuestionFilter.NONE);
+        // Then
+        assertThat(again).isSameAs(first);
+        assertThat(afterWrite).extracting(Question::getId).containsExactly(2L, 1L);
+        verify(persistQuestionPort, times(2)).findRandom(2, 7L);
+    }
+
+    @Test
+    void getSeededQuestions_duringAReload_shouldKeyTheQuizByTheVersionSampled() {
+        // Given
+        questionPool.load(List.of(question(1L, "Q1"), question(2L, "Q2")), 1L);
+        List<Question> duringReload = new ArrayList<>();
+        when(persistQuestionPort.findAll()).thenAnswer(_ -> {
+            CompletableFuture.runAsync(() -> duringReload.addAll(
+                    questionService.getSeededQuestions(2, 7L, QuestionFilter.NONE)))
+                    .orTimeout(5, TimeUnit.SECONDS).join();
+            return List.of(question(3L, "Q3"), question(4L, "Q4"));
+        });
+        // When
+        List<Question> afterReload = questionService.getSeededQuestions(2, 7L, QuestionFilter.NONE);
+        // Then
+        long bankVersion = questionVersions.bank().value();
+        assertThat(duringReload).extracting(Question::getId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(afterReload).extracting(Question::getId).containsExactlyInAnyOrder(3L, 4L);
+        verify(seededQuizzes).get(eq(7L), eq(2), any(), eq(1L), any());
+        verify(seededQuizzes).get(eq(7L), eq(2), any(), eq(bankVersion), any());
+    }
+
+    @Test
+    void getRandomQuestions_withInvalidCount_shouldThrowException() {
+        assertThatThrownBy(() -> questionService.getRandomQuestions(0, QuestionFilter.NONE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Count must be at least 1");
+        verifyNoInteractions(persistQuestionPort);
+    }
+
+    @Test
+    void getSeededQuestions_withCountAbovePageSize_shouldThrowBeforeSelecting() {
+        assertThatThrownBy(() -> questionService.getSeededQuestions(501, 7L, QuestionFilter.NONE))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Count must be at most 500");
+        verifyNoInteractions(persistQuestionPort, seededQuizzes);
+    }
+
+    @Test
+    void createQuestion_shouldAddQuestionToLoadedPool() {
+        // Given
+        questionPool.load(List.of(question(1L, "Q1")), questionVersions.bank().value());
+        Question created = question(2L, "Q2");
+        when(persistQuestionPort.save(any())).thenReturn(created);
+        // When
+        questionService.createQuestion(new Question("Q2", List.of("A", "B"), 0));
+        // Then
+        assertThat(questionService.getRandomQuestions(5, QuestionFilter.NONE)).extracting(Question::getId).containsExactlyInAnyOrder(1L, 2L);
+        verify(persistQuestionPort, never()).findAll();
+    }
+
+    @Test
+    void createQuestions_shouldSaveAsNewQuestionsAndAddThemToLoadedPool() {
+        // Given
+        questionPool.load(List.of(question(1L, "Q1")), questionVersions.bank().value());
+        List<Question> imported = List.of(question(7L, "Q2"), question(8L, "Q3"));
+        when(persistQuestionPort.saveAll(imported)).thenReturn(List.of(question(2L, "Q2"), question(3L, "Q3")));
+        // When
+        List<Question> result = questionService.createQuestions(imported);
+        // Then
+        assertThat(imported).extracting(Question::getId).containsOnlyNulls();
+        assertThat(result).extracting(Question::getId).containsExactly(2L, 3L);
+        assertThat(questionService.getRandomQuestions(5, QuestionFilter.NONE)).extracting(Question::getId).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void deleteQuestion_shouldRemoveQuestionFromLoadedPool() {
+        // Given
+        questionPool.load(List.of(question(1L, "Q1"), question(2L, "Q2")), questionVersions.bank().value());
+        // When
+        questionService.deleteQuestion(1L);
+        // Then
+        assertThat(questionService.getRandomQuestions(5, QuestionFilter.NONE)).extracting(Question::getId).containsExactly(2L);
+    }
+
+    @Test
+    void updateQuestion_shouldBumpQuestionAndBankVersions() {
+        // Given
+        Question existing = question(1L, "Old");
+        when(persistQuestionPort.findById(1L)).thenReturn(Optional.of(existing));
+        when(persistQuestionPort.update(any())).thenReturn(question(1L, "New"));
+        ContentVersion bank = questionService.getBankVersion();
+        ContentVersion other = questionService.getQuestionVersion(2L);
+        // When
+        questionService.updateQuestion(1L, question(null, "New"));
+        // Then
+        assertThat(questionService.getQuestionVersion(1L).value()).isGreaterThan(bank.value());
+        assertThat(questionService.getBankVersion()).isEqualTo(questionService.getQuestionVersion(1L));
+        assertThat(questionService.getQuestionVersion(2L)).isEqualTo(other);
+    }
+
+    @Test
+    void updateAndDelete_shouldMaintainLoadedAnswerKey() {
+        // Given
+        answerKey.ensureLoaded(questionVersions.bank().value(), sink -> {
+            sink.accept(1L, 0);
+            sink.accept(2L, 0);
+        });
+        Question updated = new Question("New", List.of("A", "B", "C"), 2);
+        when(persistQuestionPort.findById(1L)).thenReturn(Optional.of(question(1L, "Old")));
+        when(persistQuestionPort.update(any())).thenReturn(updated);
+        // When
+        questionService.updateQuestion(1L, updated);
+        questionService.deleteQuestion(2L);
+        // Then
+        assertThat(answerKey.answer(1L)).isEqualTo(2);
+        assertThat(answerKey.answer(2L)).isEqualTo(AnswerKey.UNKNOWN);
+    }
+
+    @Test
+    void createQuestions_shouldBumpBankVersion() {
+        // Given
+        when(persistQuestionPort.saveAll(any())).thenReturn(List.of(question(2L, "Q2")));
+        ContentVersion bank = questionService.getBankVersion();
+        // When
+        questionService.createQuestions(List.of(question(null, "Q2")));
+        // Then
+        assertThat(questionService.getBankVersion().value()).isGreaterThan(bank.value());
+    }
+
+    @Test
+    void getQuestions_shouldDelegatePageToPort() {
+        // Given
+        QuestionPage page = new QuestionPage(List.of(question(3L, "Q3")), 3L);
+        when(persistQuestionPort.findPage(2L, 1)).thenReturn(page);
+        // When
+        QuestionPage result = questionService.getQuestions(2L, 1);
+        // Then
+        assertThat(result).isEqualTo(page);
+    }
+
+    @Test
+    void getQuestions_withInvalidLimit_shouldThrowException() {
+        assertThatThrownBy(() -> questionService.getQuestions(null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> questionService.getQuestions(null, 501))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(persistQuestionPort);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void searchQuestions_shouldLoadIndexOnceAndReadOnlyThePage() {
+        // Given
+        doAnswer(invocation -> {
+            Consumer<Question> sink = invocation.getArgument(0);
+            sink.accept(question(1L, "What is 12 + 5?"));
+            sink.accept(question(2L, "What is 12 + 5 apples and pears?"));
+            sink.accept(question(3L, "What is 7 - 2?"));
+            return 3L;
+        }).when(persistQuestionPort).exportAll(any(Consumer.class));
+        when(persistQuestionPort.findAllById(List.of(1L))).thenReturn(List.of(question(1L, "What is 12 + 5?")));
+        when(persistQuestionPort.findAllById(List.of(2L))).thenReturn(List.of(question(2L, "What is 12 + 5 apples and pears?")));
+        // When
+        QuestionPage first = questionService.searchQuestions("12 + 5", 0, 1);
+        QuestionPage second = questionService.searchQuestions("12 + 5", 1, 1);
+        // Then
+        assertThat(first.questions()).extracting(Question::getId).containsExactly(1L);
+        assertThat(first.nextCursor()).isEqualTo(1L);
+        assertThat(second.questions()).extracting(Question::getId).containsExactly(2L);
+        assertThat(second.nextCursor()).isNull();
+        verify(persistQuestionPort, times(1)).exportAll(any(Consumer.class));
+    }
+
+    @Test
+    void searchQuestions_shouldSeeCommittedWrites() {
+        // Given
+        searchIndex.ensureLoaded(sink -> sink.accept(question(1L, "What is 3 + 4?")));
+        when(persistQuestionPort.save(any())).thenReturn(question(2L, "How many legs has a spider?"));
+        when(persistQuestionPort.findAllById(List.of(2L))).thenReturn(List.of(question(2L, "How many legs has a spider?")));
+        // When
+        questionService.createQuestion(question(null, "How many legs has a spider?"));
+        questionService.deleteQuestion(1L);
+        // Then
+        assertThat(questionService.searchQuestions("spider", 0, 10).questions()).extracting(Question::getId).containsExactly(2L);
+        assertThat(questionService.searchQuestions("3 + 4", 0, 10).questions()).isEmpty();
+        verify(persistQuestionPort, never()).exportAll(any());
+    }
+
+    @Test
+    void searchQuestions_withInvalidArguments_shouldThrowException() {
+        assertThatThrownBy(() -> questionService.searchQuestions(" 1 ", 0, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> questionService.searchQuestions("spider", -1, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> questionService.searchQuestions("spider", 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(persistQuestionPort);
+    }
+
+    @Test
+    void exportQuestions_shouldDelegateSinkToPort() {
+        // Given
+        Consumer<Question> sink = _ -> {};
+        when(persistQuestionPort.exportAll(sink)).thenReturn(42L);
+        // When
+        long exported = questionService.exportQuestions(sink);
+        // Then
+        assertThat(exported).isEqualTo(42L);
+    }
+
     @Test
     void createQuestion_shouldPersistQuestion() {
         // Given
@@ -123,4 +462,10 @@ class QuestionServiceImplTest {
         String value = " ";
         assertThat(StringUtils.isBlank(value)).isTrue();
     }
-}
\ No newline at end of file
+
+    private static Question question(Long id, String content) {
+        Question question = new Question(content, List.of("A", "B"), 0);
+        question.setId(id);
+        return question;
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.mathquiz.application.service;
+
+import com.example.mathquiz.application.port.out.QuestionVersionPort;
+import com.example.mathquiz.application.port.out.QuestionVersionPort.BankVersionStep;
+import com.example.mathquiz.application.port.out.QuestionVersionPort.SharedVersions;
+import com.example.mathquiz.domain.ContentVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionVersionsTest {
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+    private static final ContentVersion SHARED = new ContentVersion(NOW.toEpochMilli() * 1_000 - 500, NOW);
+    @Mock private QuestionVersionPort versionPort;
+    private QuestionVersions questionVersions;
+
+    @BeforeEach
+    void setUp() {
+        // A frozen clock proves versions still move forward when writes land within the same tick
+        questionVersions = new QuestionVersions(versionPort, Duration.ofSeconds(1), Duration.ofHours(2),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void bank_shouldStartAtStartupTimeUntilTheSharedVersionExists() {
+        assertThat(questionVersions.bank()).isEqualTo(new ContentVersion(NOW.toEpochMilli() * 1_000, NOW));
+        assertThat(questionVersions.question(1L)).isEqualTo(questionVersions.bank());
+        verify(versionPort).createBankVersion(questionVersions.bank());
+    }
+
+    @Test
+    void bank_shouldBeTheSharedVersionEveryInstanceReads() {
+        // Given
+        when(versionPort.findVersions(anyLong())).thenReturn(Optional.of(new SharedVersions(SHARED, Map.of())));
+        // When / Then
+        assertThat(questionVersions.bank()).isEqualTo(SHARED);
+        assertThat(questionVersions.question(1L)).isEqualTo(SHARED);
+        verify(versionPort, never()).createBankVersion(any());
+        // Read by the first caller; after that only the background refresh reads it
+        verify(versionPort, times(1)).findVersions(anyLong());
+    }
+
+    @Test
+    void questionChanged_shouldRecordTheNextVersionAndOnlyMoveThatQuestionAndTheBank() {
+        // Given
+        when(versionPort.findVersions(anyLong())).thenReturn(Optional.of(new SharedVersions(SHARED, Map.of())));
+        ContentVersion next = new ContentVersion(NOW.toEpochMilli() * 1_000, NOW);
+        when(versionPort.bumpBankVersion(next.value(), NOW))
+                .thenReturn(Optional.of(new BankVersionStep(SHARED.value(), next.value())));
+        // When
+        QuestionVersions.Step step = questionVersions.questionChanged(1L);
+        // Then
+        assertThat(step).isEqualTo(new QuestionVersions.Step(SHARED.value(), next));
+        verify(versionPort).saveQuestionChange(1L, next);
+        assertThat(questionVersions.question(1L)).isEqualTo(next);
+        assertThat(questionVersions.bank()).isEqualTo(next);
+        assertThat(questionVersions.question(2L)).isEqualTo(SHARED);
+    }
+
+    @Test
+    void questionsCreated_shouldMoveUnchangedQuestionsButKeepChangedOnes() {
+        // Given
+        questionVersions.questionChanged(1L);
+        ContentVersion changed = questionVersions.question(1L);
+        // When
+        questionVersions.questionsCreated();
+        // Then
+        assertThat(questionVersions.bank().value()).isGreaterThan(changed.value());
+        assertThat(questionVersions.question(1L)).isEqualTo(changed);
+        assertThat(questionVersions.question(99L)).isEqualTo(questionVersions.bank());
+    }
+
+    @Test
+    void changedAfter_shouldIgnoreCreatesAndEarlierChanges() {
+        // Given
+        long issued = questionVersions.bank().value();
+        questionVersions.questionsCreated();
+        questionVersions.questionChanged(1L);
+        // When / Then
+        assertThat(questionVersions.changedAfter(1L, issued)).isTrue();
+        assertThat(questionVersions.changedAfter(2L, issued)).isFalse();
+        assertThat(questionVersions.changedAfter(1L, questionVersions.bank().value())).isFalse();
+    }
+
+    @Test
+    void refresh_shouldPickUpWritesFromOtherInstances() {
+        // Given
+        ContentVersion changed = new ContentVersion(SHARED.value() + 1, NOW);
+        ContentVersion created = new ContentVersion(SHARED.value() + 2, NOW);
+        when(versionPort.findVersions(anyLong()))
+                .thenReturn(Optional.of(new SharedVersions(SHARED, Map.of())))
+                .thenReturn(Optional.of(new SharedVersions(created, Map.of(3L, changed))));
+        long issued = questionVersions.bank().value();
+        // When
+        questionVersions.refresh();
+        // Then
+        assertThat(questionVersions.bank()).isEqualTo(created);
+        assertThat(questionVersions.question(3L)).isEqualTo(changed);
+        assertThat(questionVersions.question(4L)).isEqualTo(created);
+        assertThat(questionVersions.changedAfter(3L, issued)).isTrue();
+        verify(versionPort).findVersions(SHARED.value());
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.mathquiz.application.service;
+
+import com.example.mathquiz.application.port.in.QuestionService;
+import com.example.mathquiz.application.port.out.PersistQuestionPort;
+import com.example.mathquiz.application.port.out.QuestionVersionPort;
+import com.example.mathquiz.application.port.out.QuestionVersionPort.SharedVersions;
+import com.example.mathquiz.domain.ArithmeticQuestionGenerator;
+import com.example.mathquiz.domain.ContentVersion;
+import com.example.mathquiz.domain.Question;
+import com.example.mathquiz.domain.QuestionFilter;
+import com.example.mathquiz.domain.Quiz;
+import com.example.mathquiz.domain.QuizGrade;
+import com.example.mathquiz.domain.QuizGrade.GradedAnswer;
+import com.example.mathquiz.domain.QuizGrade.Outcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuizServiceImplTest {
+    @Mock private QuestionService questionService;
+    @Mock private PersistQuestionPort persistQuestionPort;
+    @Mock private QuestionVersionPort versionPort;
+    private QuestionVersions questionVersions;
+    private final AnswerKey answerKey = new AnswerKey();
+    private final ArithmeticQuestionGenerator questionGenerator = new ArithmeticQuestionGenerator(0L, 10);
+    private QuizServiceImpl quizService;
+
+    @BeforeEach
+    void setUp() {
+        QuizTokenCodec codec = new QuizTokenCodec("secret", Duration.ofHours(2));
+        // Re-read on every call, as if the refresh interval had always passed
+        questionVersions = new QuestionVersions(versionPort, Duration.ofSeconds(1), Duration.ofHours(2));
+        quizService = new QuizServiceImpl(questionService, persistQuestionPort, questionVersions, answerKey, codec,
+                questionGenerator);
+    }
+
+    @Test
+    void grade_shouldScoreAnswersWithoutTouchingTheDatabaseAgain() {
+        // Given
+        Quiz quiz = startQuiz(question(1L, 0), question(2L, 1), question(3L, 2));
+        // When
+        QuizGrade grade = quizService.grade(quiz.token(), Arrays.asList(0, 0, null));
+        // Then
+        assertThat(grade.score()).isEqualTo(1);
+        assertThat(grade.total()).isEqualTo(3);
+        assertThat(grade.answers()).extracting(GradedAnswer::outcome)
+                .containsExactly(Outcome.CORRECT, Outcome.INCORRECT, Outcome.UNANSWERED);
+        assertThat(grade.answers()).extracting(GradedAnswer::correctOption).containsExactly(0, 1, 2);
+        verify(persistQuestionPort, times(1)).exportAnswers(any());
+    }
+
+    @Test
+    void grade_shouldVoidQuestionsChangedOrDeletedSinceIssue() {
+        // Given
+        Quiz quiz = startQuiz(question(1L, 0), question(2L, 1), question(3L, 2));
+        questionVersions.questionsCreated();
+        answerKey.put(question(2L, 0), questionVersions.questionChanged(2L));
+        answerKey.remove(3L, questionVersions.questionChanged(3L));
+        // When
+        QuizGrade grade = quizService.grade(quiz.token(), List.of(0, 0, 2));
+        // Then
+        assertThat(grade.score()).isEqualTo(1);
+        assertThat(grade.total()).isEqualTo(1);
+        assertThat(grade.answers()).extracting(GradedAnswer::outcome)
+                .containsExactly(Outcome.CORRECT, Outcome.VOIDED, Outcome.VOIDED);
+    }
+
+    @Test
+    void grade_shouldReloadTheAnswerKeyOnceAnotherInstanceMovedTheBank() {
+        // Given
+        Quiz quiz = startQuiz(question(1L, 0), question(2L, 1));
+        // Another instance updates question 2 before this one issues the next quiz
+        ContentVersion moved = new ContentVersion(questionVersions.bank().value() + 1, Instant.now());
+        when(versionPort.findVersions(anyLong())).thenReturn(Optional.of(new SharedVersions(moved, Map.of(2L, moved))));
+        questionVersions.refresh();
+        Quiz next = startQuiz(question(1L, 0), question(2L, 2));
+        // When
+        QuizGrade earlier = quizService.grade(quiz.token(), List.of(0, 1));
+        QuizGrade later = quizService.grade(next.token(), List.of(0, 2));
+        // Then
+        assertThat(earlier.answers()).extracting(GradedAnswer::outcome).containsExactly(Outcome.CORRECT, Outcome.VOIDED);
+        assertThat(later.score()).isEqualTo(2);
+        verify(persistQuestionPort, times(2)).exportAnswers(any());
+    }
+
+    @Test
+    void grade_withGeneratedQuestions_shouldRegenerateAnswersWithoutTheAnswerKey() {
+        // Given
+        List<Question> questions = questionGenerator.sample(3, new Random(1));
+        when(questionService.getRandomQuestions(3, QuestionFilter.NONE)).thenReturn(questions);
+        Quiz quiz = quizService.startQuiz(3, QuestionFilter.NONE);
+        List<Integer> answers = questions.stream().map(Question::getCorrectOption).toList();
+        // When
+        QuizGrade grade = quizService.grade(quiz.token(), answers);
+        // Then
+        assertThat(grade.score()).isEqualTo(3);
+        assertThat(answerKey.isLoaded()).isFalse();
+        verifyNoInteractions(persistQuestionPort);
+    }
+
+    @Test
+    void grade_withWrongNumberOfAnswers_shouldBeRejected() {
+        Quiz quiz = startQuiz(question(1L, 0), question(2L, 1));
+
+        assertThatThrownBy(() -> quizService.grade(quiz.token(), List.of(0)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Expected 2 answers");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Quiz startQuiz(Question... questions) {
+        when(questionService.getRandomQuestions(questions.length, QuestionFilter.NONE)).thenReturn(List.of(questions));
+        doAnswer(invocation -> {
+            BiConsumer<Long, Integer> sink = invocation.getArgument(0);
+            Arrays.stream(questions).forEach(question -> sink.accept(question.getId(), question.getCorrectOption()));
+            return (long) questions.length;
+        }).when(persistQuestionPort).exportAnswers(any(BiConsumer.class));
+        Quiz quiz = quizService.startQuiz(questions.length, QuestionFilter.NONE);
+        assertThat(quiz.questions()).containsExactly(questions);
+        return quiz;
+    }
+
+    private static Question question(Long id, int correctOption) {
+        Question question = new Question("Q" + id, List.of("A", "B", "C"), correctOption);
+        question.setId(id);
+        return question;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.mathquiz.application.service;
+
+import com.example.mathquiz.application.service.QuizTokenCodec.QuizToken;
+import com.example.mathquiz.domain.exception.InvalidQuizTokenException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QuizTokenCodecTest {
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+    private final QuizTokenCodec codec = codec("secret", NOW);
+
+    @Test
+    void verify_shouldReturnWhatWasIssued() {
+        // Given
+        List<Long> ids = List.of(1_000_000L, 3L, 999_999L, Long.MAX_VALUE);
+        // When
+        QuizToken token = codec.verify(codec.issue(1_735_689_600_000_000L, ids));
+        // Then
+        assertThat(token.bankVersion()).isEqualTo(1_735_689_600_000_000L);
+        assertThat(token.issuedAt()).isEqualTo(NOW);
+        assertThat(token.questionIds()).containsExactly(1_000_000L, 3L, 999_999L, Long.MAX_VALUE);
+    }
+
+    @Test
+    void issue_shouldStayCompact() {
+        // Ten nearby ids cost about two bytes each on top of the header and tag
+        String token = codec.issue(1L, List.of(101L, 105L, 99L, 130L, 131L, 150L, 120L, 111L, 142L, 160L));
+
+        assertThat(token.length()).isLessThan(64);
+    }
+
+    @Test
+    void verify_withTamperedToken_shouldBeRejected() {
+        // Given
+        byte[] bytes = Base64.getUrlDecoder().decode(codec.issue(1L, List.of(1L, 2L)));
+        bytes[bytes.length - 20] ^= 1;
+        String tampered = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        // When / Then
+        assertThatThrownBy(() -> codec.verify(tampered))
+                .isInstanceOf(InvalidQuizTokenException.class)
+                .hasMessageContaining("signature");
+    }
+
+    @Test
+    void verify_withOtherSecret_shouldBeRejected() {
+        String token = codec("other", NOW).issue(1L, List.of(1L));
+
+        assertThatThrownBy(() -> codec.verify(token)).isInstanceOf(InvalidQuizTokenException.class);
+    }
+
+    @Test
+    void verify_withExpiredToken_shouldBeRejected() {
+        String token = codec.issue(1L, List.of(1L));
+
+        assertThatThrownBy(() -> codec("secret", NOW.plus(Duration.ofHours(3))).verify(token))
+                .isInstanceOf(InvalidQuizTokenException.class)
+                .hasMessageContaining("expired");
+    }
+
+    @Test
+    void verify_withGarbage_shouldBeRejected() {
+        assertThatThrownBy(() -> codec.verify("not a token!")).isInstanceOf(InvalidQuizTokenException.class);
+        assertThatThrownBy(() -> codec.verify("AAAA")).isInstanceOf(InvalidQuizTokenException.class);
+    }
+
+    private static QuizTokenCodec codec(String secret, Instant now) {
+        return new QuizTokenCodec(secret, Duration.ofHours(2), Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
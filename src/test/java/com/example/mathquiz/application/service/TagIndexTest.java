@@ -0,0 +1,71 @@
+package com.example.mathquiz.application.service;
+
+import com.example.mathquiz.domain.Question;
+import com.example.mathquiz.domain.QuestionFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TagIndexTest {
+    private static final List<String> TAGS = List.of("rare", "common", "half", "regrouping");
+    private static final List<String> TOPICS = List.of("addition", "subtraction", "counting");
+
+    @Test
+    void select_shouldMatchEveryQuestionTheFilterMatches() {
+        // Given
+        Question[] questions = questions(5_000);
+        TagIndex index = TagIndex.of(questions, questions.length);
+        List<QuestionFilter> filters = List.of(
+                new QuestionFilter(Set.of("common"), null, null, null),
+                new QuestionFilter(Set.of("rare", "common"), null, null, null),
+                new QuestionFilter(Set.of("half"), Set.of("rare", "regrouping"), null, null),
+                new QuestionFilter(null, null, Set.of("Addition", "counting"), Set.of(1, 3)),
+                new QuestionFilter(Set.of("rare"), null, Set.of("subtraction"), Set.of(2)),
+                new QuestionFilter(Set.of("missing"), null, null, null),
+                new QuestionFilter(null, Set.of("missing", "rare"), null, null));
+        for (QuestionFilter filter : filters) {
+            // When
+            int[] selected = index.select(filter);
+            // Then
+            int[] expected = IntStream.range(0, questions.length).filter(i -> filter.matches(questions[i])).toArray();
+            assertThat(selected).as(filter.toString()).containsExactly(expected);
+        }
+    }
+
+    @Test
+    void select_shouldIgnoreCaseAndDuplicateTags() {
+        // Given
+        Question question = new Question("Q", List.of("A", "B"), 0, "Addition", 1, Set.of("Result-Under-10", "result-under-10"));
+        TagIndex index = TagIndex.of(new Question[]{question}, 1);
+        // When
+        int[] selected = index.select(new QuestionFilter(Set.of("RESULT-UNDER-10"), null, Set.of("addition"), null));
+        // Then
+        assertThat(selected).containsExactly(0);
+    }
+
+    private static Question[] questions(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        return IntStream.range(0, count).mapToObj(i -> {
+            Set<String> tags = new java.util.HashSet<>();
+            if (random.nextInt(100) == 0) {
+                tags.add(TAGS.get(0));
+            }
+            if (random.nextInt(10) != 0) {
+                tags.add(TAGS.get(1));
+            }
+            if (random.nextBoolean()) {
+                tags.add(TAGS.get(2));
+            }
+            if (random.nextInt(4) == 0) {
+                tags.add(TAGS.get(3));
+            }
+            return new Question("Q" + i, List.of("A", "B"), 0, TOPICS.get(random.nextInt(TOPICS.size())),
+                    1 + random.nextInt(3), tags);
+        }).toArray(Question[]::new);
+    }
+}
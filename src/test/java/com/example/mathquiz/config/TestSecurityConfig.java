@@ -1,6 +1,9 @@
 package com.example.mathquiz.config;
 
 import com.example.mathquiz.config.security.JwtTokenUtil;
+import com.example.mathquiz.config.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.mockito.Mockito;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
@@ -21,6 +24,17 @@ public class TestSecurityConfig {
         return jwtTokenUtil;
     }
 
+    @Bean
+    public VerifiedTokenCache verifiedTokenCache() {
+        return Mockito.mock(VerifiedTokenCache.class);
+    }
+
+    // Web slices do not auto-configure metrics, but the JWT filter records to a registry
+    @Bean
+    public MeterRegistry meterRegistry() {
+        return new SimpleMeterRegistry();
+    }
+
     @Bean
     public UserDetailsService userDetailsService() {
         UserDetails admin = User.withDefaultPasswordEncoder()
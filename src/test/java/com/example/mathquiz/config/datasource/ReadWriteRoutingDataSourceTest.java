@@ -0,0 +1,89 @@
+package com.example.mathquiz.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Each embedded database knows its own name, so every read shows where it was routed
+class ReadWriteRoutingDataSourceTest {
+    private ReadWriteRoutingDataSource dataSource;
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void readOnlyTransactions_shouldUseReplicasRoundRobin_andWritesThePrimary() {
+        // Given
+        dataSource = new ReadWriteRoutingDataSource(database("primary"),
+                List.of(database("replica-a"), database("replica-b")), Duration.ofSeconds(30));
+        // When
+        List<String> reads = List.of(read(true), read(true), read(true), read(true));
+        // Then
+        assertThat(reads).containsExactly("replica-a", "replica-b", "replica-a", "replica-b");
+        assertThat(read(false)).isEqualTo("primary");
+        assertThat(new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class))
+                .isEqualTo("primary");
+    }
+
+    @Test
+    void failingReplica_shouldBeEjected_andReadsFallBackToPrimaryWhenNoneAreLeft() {
+        // Given
+        dataSource = new ReadWriteRoutingDataSource(database("primary"),
+                List.of(database("replica-a"), unreachable("replica-b")), Duration.ofMinutes(1));
+        // When
+        List<String> reads = List.of(read(true), read(true), read(true));
+        // Then
+        assertThat(reads).containsOnly("replica-a");
+        assertThat(dataSource.replicaStatus()).containsEntry("replica-a", "up").containsEntry("replica-b", "ejected");
+    }
+
+    @Test
+    void allReplicasDown_shouldServeReadsFromPrimary() {
+        // Given
+        dataSource = new ReadWriteRoutingDataSource(database("primary"), List.of(unreachable("replica-a")),
+                Duration.ofMinutes(1));
+        // When / Then
+        assertThat(read(true)).isEqualTo("primary");
+        assertThat(read(true)).isEqualTo("primary");
+    }
+
+    private String read(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(_ ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private HikariDataSource database(String name) {
+        HikariDataSource pool = pool(name, "jdbc:h2:mem:" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(pool);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(32))");
+        jdbcTemplate.update("INSERT INTO node VALUES (?)", name);
+        return pool;
+    }
+
+    private HikariDataSource unreachable(String name) {
+        HikariDataSource pool = pool(name, "jdbc:h2:mem:missing-" + System.nanoTime() + ";IFEXISTS=TRUE");
+        pool.setConnectionTimeout(250);
+        return pool;
+    }
+
+    private HikariDataSource pool(String name, String url) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setUsername("sa");
+        pool.setPoolName(name);
+        pool.setInitializationFailTimeout(-1);
+        return pool;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.mathquiz.config.metrics;
+
+import com.example.mathquiz.application.port.in.QuestionService;
+import com.example.mathquiz.application.port.out.PersistQuestionPort;
+import com.example.mathquiz.domain.QuestionFilter;
+import com.example.mathquiz.domain.exception.QuestionNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class PortTimingPostProcessorTest {
+    private final QuestionService questionService = mock(QuestionService.class);
+    private final PersistQuestionPort persistQuestionPort = mock(PersistQuestionPort.class);
+    private AnnotationConfigApplicationContext context;
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(SimpleMeterRegistry.class);
+        context.registerBean(PortTimingPostProcessor.class);
+        context.registerBean(QuestionService.class, () -> questionService);
+        context.registerBean(PersistQuestionPort.class, () -> persistQuestionPort);
+        context.registerBean(String.class, () -> "not a port");
+        context.refresh();
+        meterRegistry = context.getBean(MeterRegistry.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void shouldTimeServiceAndPersistenceCallsByMethod() {
+        // Given
+        when(questionService.getRandomQuestions(5, QuestionFilter.NONE)).thenReturn(List.of());
+        // When
+        context.getBean(QuestionService.class).getRandomQuestions(5, QuestionFilter.NONE);
+        context.getBean(QuestionService.class).getRandomQuestions(5, QuestionFilter.NONE);
+        context.getBean(PersistQuestionPort.class).isEmpty();
+        // Then
+        assertThat(meterRegistry.get("mathquiz.question.service")
+                .tags("method", "getRandomQuestions", "exception", "none").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("mathquiz.question.persistence")
+                .tags("method", "isEmpty", "exception", "none").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTagFailedCallsWithExceptionAndRethrow() {
+        // Given
+        when(questionService.updateQuestion(eq(1L), any())).thenThrow(new QuestionNotFoundException("missing"));
+        QuestionService proxy = context.getBean(QuestionService.class);
+        // When / Then
+        assertThatThrownBy(() -> proxy.updateQuestion(1L, null)).isInstanceOf(QuestionNotFoundException.class);
+        assertThat(meterRegistry.get("mathquiz.question.service")
+                .tags("method", "updateQuestion", "exception", "QuestionNotFoundException").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldLeaveOtherBeansAndObjectMethodsUntimed() {
+        // When
+        context.getBean(QuestionService.class).toString();
+        // Then
+        assertThat(AopUtils.isAopProxy(context.getBean(String.class))).isFalse();
+        assertThat(meterRegistry.find("mathquiz.question.service").timers()).isEmpty();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.mathquiz.config.metrics;
+
+import com.example.mathquiz.application.port.out.PersistQuestionPort;
+import com.example.mathquiz.application.service.QuestionPool;
+import com.example.mathquiz.application.service.QuestionVersions;
+import com.example.mathquiz.domain.ContentVersion;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QuestionBankMetricsTest {
+    private static final Instant NOW = Instant.parse("2025-01-01T00:00:00Z");
+    @Mock
+    private PersistQuestionPort persistQuestionPort;
+    @Mock
+    private QuestionVersions questionVersions;
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        new QuestionBankMetrics(persistQuestionPort, new QuestionPool(), questionVersions).bindTo(registry);
+    }
+
+    @Test
+    void bankSize_shouldOnlyCountAgainAfterTheBankVersionMoves() {
+        // Given
+        when(questionVersions.bank()).thenReturn(new ContentVersion(1L, NOW), new ContentVersion(1L, NOW),
+                new ContentVersion(2L, NOW));
+        when(persistQuestionPort.count()).thenReturn(10L, 11L);
+        // When
+        double first = bankSize();
+        double unchanged = bankSize();
+        double moved = bankSize();
+        // Then
+        assertThat(first).isEqualTo(10);
+        assertThat(unchanged).isEqualTo(10);
+        assertThat(moved).isEqualTo(11);
+        verify(persistQuestionPort, times(2)).count();
+    }
+
+    private double bankSize() {
+        return registry.get("mathquiz.questions.bank.size").gauge().value();
+    }
+}
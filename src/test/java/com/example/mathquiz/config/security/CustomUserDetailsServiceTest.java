@@ -0,0 +1,122 @@
+package com.example.mathquiz.config.security;
+
+import com.example.mathquiz.domain.User;
+import com.example.mathquiz.domain.UserRole;
+import com.example.mathquiz.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class CustomUserDetailsServiceTest {
+    private UserRepository userRepository;
+    private CustomUserDetailsService userDetailsService;
+    private UserDetailsCache userDetailsCache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userDetailsCache = new UserDetailsCache(Duration.ofMinutes(5), 100);
+        userDetailsService = new CustomUserDetailsService(userRepository, userDetailsCache);
+    }
+
+    @Test
+    void loadUserByUsername_shouldQueryRepositoryOnlyOnce() {
+        // Given
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user("admin", "ADMIN", "USER")));
+        // When
+        UserDetails first = userDetailsService.loadUserByUsername("admin");
+        UserDetails second = userDetailsService.loadUserByUsername("admin");
+        // Then
+        assertThat(second.getUsername()).isEqualTo("admin");
+        assertThat(second.getPassword()).isEqualTo("hash-admin");
+        assertThat(AuthorityUtils.authorityListToSet(second.getAuthorities()))
+                .containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_USER");
+        assertThat(second).isNotSameAs(first);
+        verify(userRepository, times(1)).findByUsername("admin");
+    }
+
+    @Test
+    void loadUserByUsername_shouldNotShareErasedCredentials() {
+        // Given
+        when(userRepository.findByUsername("user")).thenReturn(Optional.of(user("user", "USER")));
+        UserDetails first = userDetailsService.loadUserByUsername("user");
+        // When
+        ((CredentialsContainer) first).eraseCredentials();
+        UserDetails second = userDetailsService.loadUserByUsername("user");
+        // Then
+        assertThat(second.getPassword()).isEqualTo("hash-user");
+    }
+
+    @Test
+    void loadUserByUsername_withSameRoles_shouldShareAuthorities() {
+        // Given
+        when(userRepository.findByUsername("alice")).thenReturn(Optional.of(user("alice", "USER", "ADMIN")));
+        when(userRepository.findByUsername("bob")).thenReturn(Optional.of(user("bob", "ADMIN", "USER")));
+        // When
+        UserDetails alice = userDetailsService.loadUserByUsername("alice");
+        UserDetails bob = userDetailsService.loadUserByUsername("bob");
+        // Then
+        assertThat(alice.getAuthorities()).zipSatisfy(bob.getAuthorities(),
+                (left, right) -> assertThat(left).isSameAs(right));
+    }
+
+    @Test
+    void loadUserByUsername_withUnknownUser_shouldNotCacheTheMiss() {
+        // Given
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+        // When / Then
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("ghost"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        assertThatThrownBy(() -> userDetailsService.loadUserByUsername("ghost"))
+                .isInstanceOf(UsernameNotFoundException.class);
+        verify(userRepository, times(2)).findByUsername("ghost");
+    }
+
+    @Test
+    void evict_shouldReloadUserOnNextLookup() {
+        // Given
+        when(userRepository.findByUsername("user"))
+                .thenReturn(Optional.of(user("user", "USER")))
+                .thenReturn(Optional.of(user("user", "USER", "ADMIN")));
+        userDetailsService.loadUserByUsername("user");
+        // When
+        userDetailsCache.evict("user");
+        UserDetails reloaded = userDetailsService.loadUserByUsername("user");
+        // Then
+        assertThat(AuthorityUtils.authorityListToSet(reloaded.getAuthorities()))
+                .containsExactlyInAnyOrder("ROLE_ADMIN", "ROLE_USER");
+        verify(userRepository, times(2)).findByUsername("user");
+    }
+
+    @Test
+    void evictAll_shouldReloadEveryUser() {
+        // Given
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(user("admin", "ADMIN")));
+        when(userRepository.findByUsername("user")).thenReturn(Optional.of(user("user", "USER")));
+        userDetailsService.loadUserByUsername("admin");
+        userDetailsService.loadUserByUsername("user");
+        // When
+        userDetailsCache.evictAll();
+        userDetailsService.loadUserByUsername("admin");
+        userDetailsService.loadUserByUsername("user");
+        // Then
+        verify(userRepository, times(2)).findByUsername("admin");
+        verify(userRepository, times(2)).findByUsername("user");
+    }
+
+    private static User user(String username, String... roles) {
+        List<UserRole> userRoles = List.of(roles).stream().map(UserRole::new).toList();
+        return new User(username, "hash-" + username, userRoles);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.mathquiz.config.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+    private static final String OLD_SECRET = "dGVzdFNlY3JldEtleUZvclRlc3RpbmdQdXJwb3Nlc09ubHk=";
+    private static final String NEW_SECRET = "YW5vdGhlclNlY3JldEtleUZvclRlc3RpbmdSb3RhdGlvbk9ubHk=";
+
+    @Test
+    void signer_shouldStampActiveKeyIdAndParserShouldVerify() {
+        // Given
+        JwtKeyRing keyRing = new JwtKeyRing(NEW_SECRET, "2025-02", List.of());
+        // When
+        Jws<Claims> jws = keyRing.parser().parseSignedClaims(keyRing.signer().subject("user").compact());
+        // Then
+        assertThat(jws.getHeader().getKeyId()).isEqualTo("2025-02");
+        assertThat(jws.getPayload().getSubject()).isEqualTo("user");
+    }
+
+    @Test
+    void parser_shouldAcceptTokensFromRetiredKeyDuringRotation() {
+        // Given
+        String issuedBeforeRotation = new JwtKeyRing(OLD_SECRET, "2025-01", List.of()).signer().subject("user").compact();
+        JwtKeyRing rotated = new JwtKeyRing(NEW_SECRET, "2025-02", List.of("2025-01:" + OLD_SECRET));
+        // When/Then
+        assertThat(rotated.parser().parseSignedClaims(issuedBeforeRotation).getPayload().getSubject()).isEqualTo("user");
+    }
+
+    @Test
+    void parser_shouldRejectUnknownKeyId() {
+        // Given
+        String token = new JwtKeyRing(OLD_SECRET, "2025-01", List.of()).signer().subject("user").compact();
+        JwtKeyRing rotated = new JwtKeyRing(NEW_SECRET, "2025-02", List.of());
+        // When/Then
+        assertThatThrownBy(() -> rotated.parser().parseSignedClaims(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void parser_shouldVerifyLegacyTokensWithoutKeyIdAgainstActiveKey() {
+        // Given
+        String legacy = Jwts.builder()
+                .subject("user")
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(OLD_SECRET)))
+                .compact();
+        JwtKeyRing keyRing = new JwtKeyRing(OLD_SECRET, "default", List.of());
+        // When/Then
+        assertThat(keyRing.parser().parseSignedClaims(legacy).getPayload().getSubject()).isEqualTo("user");
+    }
+
+    @Test
+    void constructor_withMalformedVerificationKey_shouldFail() {
+        assertThatThrownBy(() -> new JwtKeyRing(NEW_SECRET, "2025-02", List.of(OLD_SECRET)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -6,20 +6,24 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.security.core.context.SecurityContextImpl;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.jsonwebtoken.security.SignatureException;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.security.core.userdetails.UserDetailsService;
 
+import java.time.Instant;
 import java.util.Collections;
 import java.util.stream.Stream;
 
@@ -35,16 +39,15 @@ class JwtRequestFilterTest {
     @Mock
     private FilterChain filterChain;
     @Mock
-    private UserDetailsService userDetailsService;
-    @Mock
-    private JwtTokenUtil jwtTokenUtil;
-    @InjectMocks
+    private VerifiedTokenCache verifiedTokenCache;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
     private JwtRequestFilter jwtRequestFilter;
     private final UserDetails userDetails = new User("user", "pass", Collections.emptyList());
 
     @BeforeEach
     void setUp() {
         SecurityContextHolder.clearContext();
+        jwtRequestFilter = new JwtRequestFilter(verifiedTokenCache, meterRegistry);
     }
 
     @Test
@@ -83,21 +86,21 @@ class JwtRequestFilterTest {
     void shouldThrowExceptionForExpiredToken() throws Exception {
         when(request.getRequestURI()).thenReturn("/api/resource");
         when(request.getHeader("Authorization")).thenReturn("Bearer expiredToken");
-        when(jwtTokenUtil.getUsernameFromToken("expiredToken")).thenThrow(new BadCredentialsException("Expired token"));
+        when(verifiedTokenCache.verify("expiredToken")).thenThrow(new ExpiredJwtException(null, null, "Expired token"));
 
         jwtRequestFilter.doFilterInternal(request, response, filterChain);
 
         verify(response).setStatus(HttpServletResponse.SC_UNAUTHORIZED);
         verify(filterChain, never()).doFilter(request, response);
+        assertThat(meterRegistry.get("mathquiz.auth.jwt.failures").tag("reason", "expired").counter().count())
+                .isEqualTo(1);
     }
 
     @Test
     void shouldSetAuthenticationForValidToken() throws Exception {
         when(request.getRequestURI()).thenReturn("/api/resource");
         when(request.getHeader("Authorization")).thenReturn("Bearer validToken");
-        when(jwtTokenUtil.getUsernameFromToken("validToken")).thenReturn("user");
-        when(userDetailsService.loadUserByUsername("user")).thenReturn(userDetails);
-        when(jwtTokenUtil.validateToken("validToken", userDetails)).thenReturn(true);
+        when(verifiedTokenCache.verify("validToken")).thenReturn(new VerifiedToken(userDetails, Instant.now().plusSeconds(60)));
 
         jwtRequestFilter.doFilterInternal(request, response, filterChain);
 
@@ -106,6 +109,29 @@ class JwtRequestFilterTest {
                 .isNotNull()
                 .extracting("principal")
                 .isEqualTo(userDetails);
+        assertThat(meterRegistry.get("mathquiz.auth.jwt.verify").tag("outcome", "verified").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldPublishFreshContextThroughConfiguredStrategy() throws Exception {
+        // Given
+        SecurityContextHolderStrategy strategy = mock(SecurityContextHolderStrategy.class);
+        SecurityContext current = new SecurityContextImpl();
+        SecurityContext fresh = new SecurityContextImpl();
+        when(strategy.getContext()).thenReturn(current);
+        when(strategy.createEmptyContext()).thenReturn(fresh);
+        jwtRequestFilter.setSecurityContextHolderStrategy(strategy);
+        when(request.getRequestURI()).thenReturn("/api/resource");
+        when(request.getHeader("Authorization")).thenReturn("Bearer validToken");
+        when(verifiedTokenCache.verify("validToken")).thenReturn(new VerifiedToken(userDetails, Instant.now().plusSeconds(60)));
+        // When
+        jwtRequestFilter.doFilterInternal(request, response, filterChain);
+        // Then
+        verify(strategy).setContext(fresh);
+        assertThat(fresh.getAuthentication().getPrincipal()).isEqualTo(userDetails);
+        assertThat(current.getAuthentication()).isNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
     }
 
     @Test
@@ -119,6 +145,7 @@ class JwtRequestFilterTest {
         jwtRequestFilter.doFilterInternal(request, response, filterChain);
 
         verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(verifiedTokenCache);
         assertThat(SecurityContextHolder.getContext().getAuthentication())
                 .extracting("principal")
                 .isEqualTo("user");
@@ -128,14 +155,17 @@ class JwtRequestFilterTest {
     void shouldHandleInvalidTokenValidation() throws Exception {
         when(request.getRequestURI()).thenReturn("/api/resource");
         when(request.getHeader("Authorization")).thenReturn("Bearer invalidToken");
-        when(jwtTokenUtil.getUsernameFromToken("invalidToken")).thenReturn("user");
-        when(userDetailsService.loadUserByUsername("user")).thenReturn(userDetails);
-        when(jwtTokenUtil.validateToken("invalidToken", userDetails)).thenReturn(false);
+        when(verifiedTokenCache.verify("invalidToken")).thenThrow(new SignatureException("Bad signature"));
 
         jwtRequestFilter.doFilterInternal(request, response, filterChain);
 
-        verify(filterChain).doFilter(request, response);
+        verify(response).setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        verify(filterChain, never()).doFilter(request, response);
         assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        assertThat(meterRegistry.get("mathquiz.auth.jwt.failures").tag("reason", "signature").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("mathquiz.auth.jwt.verify").tag("outcome", "rejected").timer().count())
+                .isEqualTo(1);
     }
 
     @Test
@@ -0,0 +1,100 @@
+package com.example.mathquiz.config.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class VerifiedTokenCacheTest {
+    private static final String SECRET = "dGVzdFNlY3JldEtleUZvclRlc3RpbmdQdXJwb3Nlc09ubHk=";
+    private JwtTokenUtil jwtTokenUtil;
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenUtil = spy(new JwtTokenUtil(new JwtKeyRing(SECRET, "test", List.of())));
+        ReflectionTestUtils.setField(jwtTokenUtil, "expirationMs", 60L);
+        verifiedTokenCache = new VerifiedTokenCache(jwtTokenUtil, 100, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void verify_shouldParseTokenOnlyOnceAcrossRequests() {
+        // Given
+        String token = tokenFor("user", "ROLE_USER");
+        // When
+        VerifiedToken first = verifiedTokenCache.verify(token);
+        VerifiedToken second = verifiedTokenCache.verify(token);
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.principal().getUsername()).isEqualTo("user");
+        assertThat(AuthorityUtils.authorityListToSet(first.principal().getAuthorities())).containsExactly("ROLE_USER");
+        verify(jwtTokenUtil, times(1)).parseToken(token);
+    }
+
+    @Test
+    void verify_shouldCacheEachTokenSeparately() {
+        // When
+        VerifiedToken admin = verifiedTokenCache.verify(tokenFor("admin", "ROLE_ADMIN"));
+        VerifiedToken user = verifiedTokenCache.verify(tokenFor("user", "ROLE_USER"));
+        // Then
+        assertThat(admin.principal().getUsername()).isEqualTo("admin");
+        assertThat(user.principal().getUsername()).isEqualTo("user");
+    }
+
+    @Test
+    void verify_withTamperedToken_shouldFailEveryTime() {
+        // Given
+        String token = tokenFor("user", "ROLE_USER");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+        // When/Then
+        assertThatThrownBy(() -> verifiedTokenCache.verify(tampered)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> verifiedTokenCache.verify(tampered)).isInstanceOf(JwtException.class);
+        verify(jwtTokenUtil, times(2)).parseToken(tampered);
+    }
+
+    @Test
+    void verify_withExpiredToken_shouldFail() {
+        // Given
+        String token = Jwts.builder()
+                .subject("user")
+                .claim("roles", List.of("ROLE_USER"))
+                .issuedAt(new Date(System.currentTimeMillis() - 120_000))
+                .expiration(new Date(System.currentTimeMillis() - 60_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+        // When/Then
+        assertThatThrownBy(() -> verifiedTokenCache.verify(token)).isInstanceOf(JwtException.class);
+    }
+
+    private String tokenFor(String username, String role) {
+        User user = new User(username, "", List.of(new SimpleGrantedAuthority(role)));
+        String token = jwtTokenUtil.generateToken(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        clearInvocations(jwtTokenUtil);
+        // Tokens are only valid strictly after their issue instant
+        sleepPastMillisecond();
+        return token;
+    }
+
+    private static void sleepPastMillisecond() {
+        try {
+            Thread.sleep(2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
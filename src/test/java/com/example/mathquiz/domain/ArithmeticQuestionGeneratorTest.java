@@ -0,0 +1,126 @@
+package com.example.mathquiz.domain;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ArithmeticQuestionGeneratorTest {
+    private static final Pattern SUM = Pattern.compile("What is (\\d+) ([+-]) (\\d+)\\?");
+    private final ArithmeticQuestionGenerator generator = new ArithmeticQuestionGenerator(42L, 10);
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 2, 1_000, 999_999_999_999L})
+    void generate_shouldMarkTheRightAnswerAmongDistinctAscendingOptions(long index) {
+        // When
+        Question question = generator.generate(index);
+        // Then
+        Matcher sum = SUM.matcher(question.getContent());
+        assertThat(sum.matches()).as(question.getContent()).isTrue();
+        int a = Integer.parseInt(sum.group(1));
+        int b = Integer.parseInt(sum.group(3));
+        int answer = sum.group(2).equals("+") ? a + b : a - b;
+        List<Integer> options = question.getOptions().stream().map(Integer::parseInt).toList();
+        assertThat(a).isBetween(0, 10);
+        assertThat(b).isBetween(0, 10);
+        assertThat(answer).isNotNegative();
+        assertThat(options).hasSize(4).doesNotHaveDuplicates().isSorted().allSatisfy(option -> assertThat(option).isNotNegative());
+        assertThat(options.get(question.getCorrectOption())).isEqualTo(answer);
+        assertThat(question.getId()).isNull();
+    }
+
+    @Test
+    void generate_shouldBeDeterministicPerSeedAndIndex() {
+        ArithmeticQuestionGenerator same = new ArithmeticQuestionGenerator(42L, 10);
+        ArithmeticQuestionGenerator other = new ArithmeticQuestionGenerator(43L, 10);
+
+        assertThat(LongStream.range(0, 100).mapToObj(generator::generate))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(LongStream.range(0, 100).mapToObj(same::generate).toList());
+        assertThat(LongStream.range(0, 100).mapToObj(index -> generator.generate(index).getContent()).toList())
+                .isNotEqualTo(LongStream.range(0, 100).mapToObj(index -> other.generate(index).getContent()).toList());
+    }
+
+    @Test
+    void generate_shouldCoverTheWholeProblemSpaceAndEveryAnswerPosition() {
+        // When
+        List<Question> questions = LongStream.range(0, 20_000).mapToObj(generator::generate).toList();
+        // Then
+        assertThat(questions.stream().map(Question::getContent).distinct().count()).isEqualTo(generator.distinctQuestions());
+        assertThat(questions.stream().map(Question::getCorrectOption).collect(Collectors.toSet()))
+                .containsExactlyInAnyOrder(0, 1, 2, 3);
+    }
+
+    @Test
+    void sample_shouldReturnDistinctQuestionsWhoseIdsRegenerateThem() {
+        // When
+        List<Question> questions = generator.sample(50, new Random(7));
+        // Then
+        assertThat(questions).hasSize(50);
+        assertThat(questions.stream().map(Question::getContent).collect(Collectors.toSet())).hasSize(50);
+        assertThat(questions).allSatisfy(question -> {
+            assertThat(ArithmeticQuestionGenerator.isGenerated(question.getId())).isTrue();
+            assertThat(generator.correctOption(question.getId())).isEqualTo(question.getCorrectOption());
+        });
+    }
+
+    @Test
+    void sample_withMoreThanTheProblemSpace_shouldStopAtEveryDistinctQuestion() {
+        ArithmeticQuestionGenerator tiny = new ArithmeticQuestionGenerator(0L, 1);
+
+        List<Question> questions = tiny.sample(100, new Random(7));
+
+        assertThat(questions).hasSizeLessThanOrEqualTo(tiny.distinctQuestions());
+        assertThat(Set.copyOf(questions.stream().map(Question::getContent).toList())).hasSize(questions.size());
+    }
+
+    @Test
+    void generate_shouldTagTopicResultRangeAndRegrouping() {
+        // When
+        List<Question> questions = LongStream.range(0, 2_000).mapToObj(generator::generate).toList();
+        // Then
+        assertThat(questions).allSatisfy(question -> {
+            Matcher sum = SUM.matcher(question.getContent());
+            assertThat(sum.matches()).isTrue();
+            int a = Integer.parseInt(sum.group(1));
+            int b = Integer.parseInt(sum.group(3));
+            boolean subtraction = sum.group(2).equals("-");
+            int answer = subtraction ? a - b : a + b;
+            boolean regrouping = subtraction ? a % 10 < b % 10 : a % 10 + b % 10 >= 10;
+            assertThat(question.getTopic()).isEqualTo(subtraction ? "subtraction" : "addition");
+            assertThat(question.getTags().contains("result-under-10")).isEqualTo(answer < 10);
+            assertThat(question.getTags()).contains("result-under-100");
+            assertThat(question.getTags().contains("regrouping")).isEqualTo(regrouping);
+            assertThat(question.getDifficulty()).isEqualTo(regrouping ? 3 : a < 10 && b < 10 ? 1 : 2);
+        });
+    }
+
+    @Test
+    void sample_withFilter_shouldOnlyReturnMatchingQuestions() {
+        // Given
+        QuestionFilter filter = new QuestionFilter(Set.of("result-under-10"), null, Set.of("subtraction"), null);
+        // When
+        List<Question> questions = generator.sample(10, new Random(7), filter);
+        // Then
+        assertThat(questions).hasSize(10).allSatisfy(question -> {
+            assertThat(filter.matches(question)).isTrue();
+            assertThat(generator.correctOption(question.getId())).isEqualTo(question.getCorrectOption());
+        });
+    }
+
+    @Test
+    void constructor_withOutOfRangeOperand_shouldBeRejected() {
+        assertThatThrownBy(() -> new ArithmeticQuestionGenerator(0L, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ArithmeticQuestionGenerator(0L, 21)).isInstanceOf(IllegalArgumentException.class);
+    }
+}